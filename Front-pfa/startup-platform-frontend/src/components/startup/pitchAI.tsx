@@ -24,6 +24,18 @@ interface Pitch {
   updatedAt: string;
 }
 
+// Élément des listes /api/pitchs/me : aperçu seulement, le détail est chargé à l'ouverture
+interface PitchSummary {
+  id: string;
+  preview: string;
+  truncated: boolean;
+  type: 'ELEVATOR' | 'DECK' | 'VALUE_PROP';
+  rating: number | null;
+  isFavorite: boolean;
+  createdAt: string;
+  updatedAt: string;
+}
+
 interface PitchStats {
   totalPitchs: number;
   favoritePitchs: number;
@@ -104,7 +116,7 @@ const PitchPage: React.FC = () => {
 
   const [generatedPitch, setGeneratedPitch] = useState<string>('');
   const [isGenerating, setIsGenerating] = useState(false);
-  const [pitchs, setPitchs] = useState<Pitch[]>([]);
+  const [pitchs, setPitchs] = useState<PitchSummary[]>([]);
   const [stats, setStats] = useState<PitchStats>({
     totalPitchs: 0,
     favoritePitchs: 0,
@@ -243,9 +255,26 @@ const handleGeneratePitch = async () => {
     }
   };
 
-  const openDetailModal = (pitch: Pitch) => {
-    setSelectedPitch(pitch);
-    setShowDetailModal(true);
+  const openDetailModal = async (pitch: PitchSummary) => {
+    const token = getAuthToken();
+    if (!token) return;
+
+    try {
+      const res = await fetch(`http://localhost:8080/api/pitchs/${pitch.id}`, {
+        headers: { Authorization: `Bearer ${token}` }
+      });
+
+      if (!res.ok) {
+        const errorText = await res.text();
+        throw new Error(errorText || 'Impossible de charger le pitch.');
+      }
+
+      const detail: Pitch = await res.json();
+      setSelectedPitch(detail);
+      setShowDetailModal(true);
+    } catch (err: any) {
+      setError(err.message || 'Impossible de charger le pitch.');
+    }
   };
 
   if (loading) {
@@ -528,7 +557,7 @@ const handleGeneratePitch = async () => {
                       </div>
 
                       <div className="pitch-item-content">
-                        <p>{pitch.pitchGenere.substring(0, 180)}...</p>
+                        <p>{pitch.preview}{pitch.truncated ? '...' : ''}</p>
                       </div>
 
                       <div className="pitch-item-footer">
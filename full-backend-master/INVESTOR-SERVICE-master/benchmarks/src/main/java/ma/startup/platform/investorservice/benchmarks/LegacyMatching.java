@@ -0,0 +1,106 @@
+package ma.startup.platform.investorservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.startup.platform.investorservice.dto.InvestorResponse;
+import ma.startup.platform.investorservice.dto.MatchingResponse;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.model.Investor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Baseline: the scoring, criteria and ranking code MatchingService used before MatchingScorer,
+ * kept verbatim (minus debug logging and persistence) so both can be compared in one run.
+ */
+final class LegacyMatching {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    List<MatchingResponse> rank(StartupDTO startup, List<Investor> investors) {
+        List<MatchingResponse> matches = new ArrayList<>();
+
+        for (Investor investor : investors) {
+            int score = calculateMatchingScore(startup, investor);
+            String criteriaJson = buildCriteriaJson(startup, investor, score);
+
+            MatchingResponse response = new MatchingResponse();
+            response.setInvestor(InvestorResponse.fromInvestor(investor));
+            response.setScore(score);
+            response.setCriteria(parseCriteria(startup, investor, score));
+            response.setIsViewed(criteriaJson.isEmpty());
+
+            matches.add(response);
+        }
+
+        return matches.stream()
+                .sorted((a, b) -> b.getScore().compareTo(a.getScore()))
+                .limit(20)
+                .collect(Collectors.toList());
+    }
+
+    int calculateMatchingScore(StartupDTO startup, Investor investor) {
+        int score = 0;
+
+        if (startup.getSecteur() != null && investor.getSecteursInterets() != null) {
+            String secteur = startup.getSecteur().toLowerCase();
+            String secteursInterets = investor.getSecteursInterets().toLowerCase();
+
+            if (secteursInterets.contains(secteur)) {
+                score += 70;
+            }
+        }
+
+        score += 10;
+
+        if (startup.getLocalisation() != null && investor.getLocalisation() != null) {
+            if (startup.getLocalisation().equalsIgnoreCase(investor.getLocalisation())) {
+                score += 10;
+            }
+        }
+
+        return score;
+    }
+
+    String buildCriteriaJson(StartupDTO startup, Investor investor, int score) {
+        Map<String, Object> criteria = new HashMap<>();
+
+        boolean secteurMatch = startup.getSecteur() != null &&
+                investor.getSecteursInterets() != null &&
+                investor.getSecteursInterets().toLowerCase().contains(startup.getSecteur().toLowerCase());
+
+        boolean localisationMatch = startup.getLocalisation() != null &&
+                investor.getLocalisation() != null &&
+                startup.getLocalisation().equalsIgnoreCase(investor.getLocalisation());
+
+        criteria.put("secteurMatch", secteurMatch);
+        criteria.put("montantCompatible", true);
+        criteria.put("localisationMatch", localisationMatch);
+        criteria.put("totalScore", score);
+
+        try {
+            return objectMapper.writeValueAsString(criteria);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    MatchingResponse.MatchingCriteria parseCriteria(StartupDTO startup, Investor investor, int score) {
+        boolean secteurMatch = startup.getSecteur() != null &&
+                investor.getSecteursInterets() != null &&
+                investor.getSecteursInterets().toLowerCase().contains(startup.getSecteur().toLowerCase());
+
+        boolean localisationMatch = startup.getLocalisation() != null &&
+                investor.getLocalisation() != null &&
+                startup.getLocalisation().equalsIgnoreCase(investor.getLocalisation());
+
+        String details = String.format("Score: %d/100 - Secteur: %s, Localisation: %s",
+                score, secteurMatch ? "✓" : "✗", localisationMatch ? "✓" : "✗");
+
+        return new MatchingResponse.MatchingCriteria(secteurMatch, true, localisationMatch, details);
+    }
+}
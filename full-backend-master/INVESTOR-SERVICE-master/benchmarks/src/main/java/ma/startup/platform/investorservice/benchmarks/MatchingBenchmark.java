@@ -0,0 +1,112 @@
+package ma.startup.platform.investorservice.benchmarks;
+
+import ma.startup.platform.investorservice.dto.InvestorResponse;
+import ma.startup.platform.investorservice.dto.MatchingResponse;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.service.MatchingScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One startup against N investors, the shape of GET /api/matching/for-me without persistence:
+ * scoring alone, criteria building alone, and the full score + criteria + top-20 ranking,
+ * each for the legacy code and for MatchingScorer.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int investors;
+
+    private List<Investor> population;
+    private StartupDTO startup;
+    private LegacyMatching legacy;
+    private MatchingScorer scorer;
+
+    @Setup
+    public void setUp() {
+        population = SyntheticPopulation.investors(investors, 42L);
+        startup = SyntheticPopulation.startup(7L);
+        legacy = new LegacyMatching();
+        scorer = new MatchingScorer();
+    }
+
+    @Benchmark
+    public void legacyScoring(Blackhole blackhole) {
+        for (Investor investor : population) {
+            blackhole.consume(legacy.calculateMatchingScore(startup, investor));
+        }
+    }
+
+    @Benchmark
+    public void scorerScoring(Blackhole blackhole) {
+        MatchingScorer.StartupProfile profile = scorer.profile(startup);
+        for (Investor investor : population) {
+            blackhole.consume(scorer.evaluate(profile, investor).getScore());
+        }
+    }
+
+    @Benchmark
+    public void legacyCriteria(Blackhole blackhole) {
+        for (Investor investor : population) {
+            int score = legacy.calculateMatchingScore(startup, investor);
+            blackhole.consume(legacy.buildCriteriaJson(startup, investor, score));
+            blackhole.consume(legacy.parseCriteria(startup, investor, score));
+        }
+    }
+
+    @Benchmark
+    public void scorerCriteria(Blackhole blackhole) {
+        MatchingScorer.StartupProfile profile = scorer.profile(startup);
+        for (Investor investor : population) {
+            MatchingScorer.Evaluation evaluation = scorer.evaluate(profile, investor);
+            blackhole.consume(evaluation.toCriteriaJson());
+            blackhole.consume(evaluation.details());
+        }
+    }
+
+    @Benchmark
+    public List<MatchingResponse> legacyRanking() {
+        return legacy.rank(startup, population);
+    }
+
+    @Benchmark
+    public List<MatchingResponse> scorerRanking() {
+        MatchingScorer.StartupProfile profile = scorer.profile(startup);
+        List<MatchingResponse> matches = new ArrayList<>(population.size());
+        for (Investor investor : population) {
+            MatchingScorer.Evaluation evaluation = scorer.evaluate(profile, investor);
+            String criteriaJson = evaluation.toCriteriaJson();
+
+            MatchingResponse response = new MatchingResponse();
+            response.setInvestor(InvestorResponse.fromInvestor(investor));
+            response.setScore(evaluation.getScore());
+            response.setCriteria(new MatchingResponse.MatchingCriteria(
+                    evaluation.isSecteurMatch(), true, evaluation.isLocalisationMatch(), evaluation.details()));
+            response.setIsViewed(criteriaJson.isEmpty());
+            matches.add(response);
+        }
+        return MatchingScorer.topK(matches, Comparator.comparing(MatchingResponse::getScore).reversed(), 20);
+    }
+}
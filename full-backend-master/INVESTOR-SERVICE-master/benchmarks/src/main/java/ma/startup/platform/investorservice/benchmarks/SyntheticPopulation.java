@@ -0,0 +1,74 @@
+package ma.startup.platform.investorservice.benchmarks;
+
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.model.Investor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeded investor/startup populations shaped like production data: JSON sector arrays,
+ * a handful of cities, and a long tail of investors that match nothing.
+ */
+final class SyntheticPopulation {
+
+    static final String[] SECTEURS = {
+            "FinTech", "EdTech", "HealthTech", "AgriTech", "GreenTech", "E-commerce",
+            "SaaS", "IA", "Logistique", "Tourisme", "Immobilier", "Mobilité"
+    };
+
+    static final String[] LOCALISATIONS = {
+            "Casablanca", "Rabat", "Marrakech", "Tanger", "Fès", "Agadir", "Paris"
+    };
+
+    private SyntheticPopulation() {
+    }
+
+    static List<Investor> investors(int count, long seed) {
+        Random random = new Random(seed);
+        InvestorType[] types = InvestorType.values();
+        List<Investor> investors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Investor investor = new Investor();
+            investor.setId(new UUID(seed, i));
+            investor.setUserId(new UUID(i, seed));
+            investor.setNom("Investisseur " + i);
+            investor.setType(types[random.nextInt(types.length)]);
+            investor.setSecteursInterets(sectorArray(random, 1 + random.nextInt(4)));
+            long min = 10_000L * (1 + random.nextInt(100));
+            investor.setMontantMin(BigDecimal.valueOf(min));
+            investor.setMontantMax(BigDecimal.valueOf(min * (2 + random.nextInt(10))));
+            investor.setDescription("Fonds d'investissement numéro " + i);
+            investor.setLocalisation(random.nextInt(10) == 0 ? null : LOCALISATIONS[random.nextInt(LOCALISATIONS.length)]);
+            investor.setEmail("investor" + i + "@example.com");
+            investors.add(investor);
+        }
+        return investors;
+    }
+
+    static StartupDTO startup(long seed) {
+        Random random = new Random(seed);
+        StartupDTO startup = new StartupDTO();
+        startup.setId(new UUID(seed, -1L));
+        startup.setNom("Startup " + seed);
+        startup.setSecteur(SECTEURS[random.nextInt(SECTEURS.length)]);
+        startup.setLocalisation(LOCALISATIONS[random.nextInt(LOCALISATIONS.length)]);
+        startup.setProfileCompletion(random.nextInt(101));
+        return startup;
+    }
+
+    private static String sectorArray(Random random, int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(SECTEURS[random.nextInt(SECTEURS.length)]).append('"');
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,77 @@
+package ma.startup.platform.investorservice.benchmarks;
+
+import ma.startup.platform.investorservice.dto.MatchingResponse;
+import ma.startup.platform.investorservice.service.MatchingScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Top-K selection alone over pre-scored matches: full stable sort + limit versus a bounded heap.
+ * "matching" scores only take the four values the current algorithm produces (many ties);
+ * "uniform" spreads them over 0..100.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopKBenchmark {
+
+    private static final int[] MATCHING_SCORES = {10, 20, 80, 90};
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    @Param({"20"})
+    private int k;
+
+    @Param({"matching", "uniform"})
+    private String distribution;
+
+    private List<MatchingResponse> matches;
+    private Comparator<MatchingResponse> byScoreDesc;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        matches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MatchingResponse response = new MatchingResponse();
+            response.setScore("uniform".equals(distribution)
+                    ? random.nextInt(101)
+                    : MATCHING_SCORES[random.nextInt(MATCHING_SCORES.length)]);
+            matches.add(response);
+        }
+        byScoreDesc = Comparator.comparing(MatchingResponse::getScore).reversed();
+    }
+
+    @Benchmark
+    public List<MatchingResponse> sortLimit() {
+        return matches.stream()
+                .sorted((a, b) -> b.getScore().compareTo(a.getScore()))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<MatchingResponse> heapTopK() {
+        return MatchingScorer.topK(matches, byScoreDesc, k);
+    }
+}
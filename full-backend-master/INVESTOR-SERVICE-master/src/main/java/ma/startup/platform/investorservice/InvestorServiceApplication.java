@@ -3,10 +3,11 @@ package ma.startup.platform.investorservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
-
+@EnableScheduling
 public class InvestorServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,73 @@
+package ma.startup.platform.investorservice.client;
+
+import feign.Request;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bounded pool for fanning out Feign calls to other services.
+ *
+ * Every call gets a deadline and degrades to a fallback value on timeout, error or pool
+ * saturation, so one slow dependency yields a partial response instead of a slow one.
+ * The deadline is also handed to Feign as per-call {@link Request.Options}, so a timed-out
+ * request gives its pool thread and connection back instead of running to the default read timeout.
+ */
+@Component
+@Slf4j
+public class RemoteCallExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor pool;
+    private final Duration callTimeout;
+    private final Request.Options callOptions;
+
+    public RemoteCallExecutor(@Value("${investor.remote.pool-size:16}") int poolSize,
+                              @Value("${investor.remote.queue-capacity:256}") int queueCapacity,
+                              @Value("${investor.remote.call-timeout:2s}") Duration callTimeout) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "remote-call-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+        this.callTimeout = callTimeout;
+        this.callOptions = new Request.Options(callTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                callTimeout.toMillis(), TimeUnit.MILLISECONDS, true);
+    }
+
+    /**
+     * Run {@code call} on the pool, passing it the Feign options to use for its request;
+     * the future always completes, with {@code fallback} on failure
+     */
+    public <T> CompletableFuture<T> call(String description, Function<Request.Options, T> call, T fallback) {
+        try {
+            return CompletableFuture.supplyAsync(() -> call.apply(callOptions), pool)
+                    .completeOnTimeout(fallback, callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        log.warn("Remote call failed ({}): {}", description, e.getMessage());
+                        return fallback;
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("Remote call pool saturated, skipping {}", description);
+            return CompletableFuture.completedFuture(fallback);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package ma.startup.platform.investorservice.client;
 
+import feign.Request;
 import ma.startup.platform.investorservice.dto.FounderMemberDTO;
 import ma.startup.platform.investorservice.dto.MilestoneDTO;
 import ma.startup.platform.investorservice.dto.StartupDTO;
@@ -18,6 +19,11 @@ public interface StartupServiceClient {
     @GetMapping("/api/startups/{id}")
     StartupDTO getStartupById(@PathVariable("id") UUID id, @RequestHeader("Authorization") String token);
 
+    // Same lookup with per-call timeouts (see RemoteCallExecutor)
+    @GetMapping("/api/startups/{id}")
+    StartupDTO getStartupById(@PathVariable("id") UUID id, @RequestHeader("Authorization") String token,
+                              Request.Options options);
+
     @GetMapping("/api/startups/me")
     StartupDTO getMyStartup(@RequestHeader("Authorization") String token);
 
@@ -31,10 +37,18 @@ public interface StartupServiceClient {
     @GetMapping("/api/team/startup/{startupId}")
     List<FounderMemberDTO> getTeamByStartupId(@PathVariable("startupId") UUID startupId, @RequestHeader("Authorization") String token);
 
+    @GetMapping("/api/team/startup/{startupId}")
+    List<FounderMemberDTO> getTeamByStartupId(@PathVariable("startupId") UUID startupId, @RequestHeader("Authorization") String token,
+                                              Request.Options options);
+
     // NEW: Get milestones
     @GetMapping("/api/milestones/startup/{startupId}")
     List<MilestoneDTO> getMilestonesByStartupId(@PathVariable("startupId") UUID startupId, @RequestHeader("Authorization") String token);
 
+    @GetMapping("/api/milestones/startup/{startupId}")
+    List<MilestoneDTO> getMilestonesByStartupId(@PathVariable("startupId") UUID startupId, @RequestHeader("Authorization") String token,
+                                                Request.Options options);
+
     @GetMapping("/api/startups/user/{userId}")
     StartupDTO getStartupByUserId(
             @PathVariable("userId") UUID userId,
@@ -5,9 +5,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.startup.platform.investorservice.dto.CreateInvestorRequest;
+import ma.startup.platform.investorservice.dto.InvestorDirectoryResponse;
+import ma.startup.platform.investorservice.dto.InvestorImportReport;
 import ma.startup.platform.investorservice.dto.InvestorResponse;
 import ma.startup.platform.investorservice.dto.StartupDetailResponse;
 import ma.startup.platform.investorservice.dto.UpdateInvestorRequest;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.service.InvestorImportService;
 import ma.startup.platform.investorservice.service.InvestorService;
 import ma.startup.platform.investorservice.service.StartupDetailService;
 import org.springframework.data.domain.Page;
@@ -17,6 +21,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +34,7 @@ public class InvestorController {
 
     private final InvestorService investorService;
     private final StartupDetailService startupDetailService;
+    private final InvestorImportService investorImportService;
 
     /**
      * POST /api/investors - Create investor profile
@@ -46,6 +53,24 @@ public class InvestorController {
         }
     }
 
+    /**
+     * POST /api/investors/import - Bulk import (admin), body streamed as text/csv or application/x-ndjson
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importInvestors(
+            InputStream body,
+            @RequestHeader(value = "Content-Type", required = false) String contentType,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            log.info("POST /api/investors/import - Importing investors ({})", contentType);
+            InvestorImportReport report = investorImportService.importInvestors(body, contentType, authHeader);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            log.error("Error importing investors: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
     /**
      * GET /api/investors/me - Get my investor profile
      */
@@ -96,6 +121,29 @@ public class InvestorController {
         }
     }
 
+    /**
+     * GET /api/investors/directory - Faceted search by type, sector, location and ticket range
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<?> searchDirectory(
+            @RequestParam(required = false) List<InvestorType> type,
+            @RequestParam(required = false) List<String> secteur,
+            @RequestParam(required = false) List<String> localisation,
+            @RequestParam(required = false) BigDecimal montantMin,
+            @RequestParam(required = false) BigDecimal montantMax,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            log.info("GET /api/investors/directory - type: {}, secteur: {}, localisation: {}", type, secteur, localisation);
+            InvestorDirectoryResponse response = investorService.searchDirectory(
+                    type, secteur, localisation, montantMin, montantMax, page, size);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error searching investor directory: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
     /**
      * GET /api/investors/{id} - Get investor by ID
      */
@@ -5,13 +5,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.startup.platform.investorservice.dto.MeetingResponse;
 import ma.startup.platform.investorservice.dto.ScheduleMeetingRequest;
+import ma.startup.platform.investorservice.dto.TimeSlotResponse;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import ma.startup.platform.investorservice.service.CalendarFeedService;
 import ma.startup.platform.investorservice.service.MeetingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/meetings")
@@ -20,6 +31,7 @@ import java.util.UUID;
 public class MeetingController {
 
     private final MeetingService meetingService;
+    private final CalendarFeedService calendarFeedService;
 
     /**
      * POST /api/meetings/schedule - Investor schedules a meeting
@@ -135,6 +147,27 @@ public class MeetingController {
         }
     }
 
+    /**
+     * GET /api/meetings/slots - Free slots common to both sides of a connection
+     */
+    @GetMapping("/slots")
+    public ResponseEntity<?> getFreeSlots(
+            @RequestParam UUID connectionId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "60") int durationMinutes,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            log.info("GET /api/meetings/slots - Finding free slots for connection {}", connectionId);
+            List<TimeSlotResponse> slots = meetingService.findCommonFreeSlots(
+                    connectionId, from, to, durationMinutes, authHeader);
+            return ResponseEntity.ok(slots);
+        } catch (Exception e) {
+            log.error("Error finding free slots: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
     /**
      * DELETE /api/meetings/{id}/cancel - Cancel meeting
      */
@@ -151,4 +184,57 @@ public class MeetingController {
             return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
         }
     }
+
+    /**
+     * GET /api/meetings/calendar/feed-url - Subscription URL of my iCalendar feed
+     */
+    @GetMapping("/calendar/feed-url")
+    public ResponseEntity<?> getCalendarFeedUrl(@RequestHeader("Authorization") String authHeader) {
+        try {
+            log.info("GET /api/meetings/calendar/feed-url - Building calendar feed URL");
+            return ResponseEntity.ok(Map.of("url", calendarFeedService.getFeedPath(authHeader)));
+        } catch (Exception e) {
+            log.error("Error building calendar feed URL: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erreur: " + e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/meetings/calendar/{kind}/{id}.ics?token= - iCalendar feed (token auth, conditional GET)
+     */
+    @GetMapping("/calendar/{kind}/{id}.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendarFeed(
+            @PathVariable String kind,
+            @PathVariable UUID id,
+            @RequestParam String token,
+            WebRequest webRequest) {
+        if (!calendarFeedService.isValidToken(kind, id, token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        MeetingRepository.FeedVersion version = calendarFeedService.getFeedVersion(kind, id);
+        String etag = calendarFeedService.etagOf(version);
+        // An empty feed has no modification date: validate on the ETag alone, no Last-Modified
+        boolean dated = version.getLastModified() != null;
+        long lastModified = dated ? CalendarFeedService.toEpochMillis(version.getLastModified()) : 0L;
+
+        // Sets the 304 status and validators on the response when the client copy is current
+        boolean notModified = dated
+                ? webRequest.checkNotModified(etag, lastModified)
+                : webRequest.checkNotModified(etag);
+        if (notModified) {
+            return null;
+        }
+
+        log.info("GET /api/meetings/calendar/{}/{}.ics - Streaming calendar feed", kind, id);
+        StreamingResponseBody body = out -> calendarFeedService.writeFeed(kind, id, out);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/calendar;charset=UTF-8"))
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate().mustRevalidate());
+        if (dated) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
 }
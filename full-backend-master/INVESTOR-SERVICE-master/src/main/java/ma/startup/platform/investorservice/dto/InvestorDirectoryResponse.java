@@ -0,0 +1,24 @@
+package ma.startup.platform.investorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvestorDirectoryResponse {
+
+    private List<InvestorResponse> content;
+    private long totalElements;
+    private int page;
+    private int size;
+
+    // facet name -> value -> matches with that value, ignoring the facet's own filter
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,68 @@
+package ma.startup.platform.investorservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.investorservice.enums.InvestorType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One investor of a bulk import; same rules as CreateInvestorRequest plus the owning user,
+ * and the column limits of investor_schema.investors since COPY bypasses the entity mapping
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestorImportRow {
+
+    @NotNull(message = "L'identifiant utilisateur (user_id) est obligatoire")
+    private UUID userId;
+
+    @NotBlank(message = "Le nom est obligatoire")
+    @Size(max = 255, message = "Le nom ne doit pas dépasser 255 caractères")
+    private String nom;
+
+    @NotNull(message = "Le type d'investisseur est obligatoire")
+    private InvestorType type;
+
+    private String secteursInterets; // JSON array: ["FinTech","EdTech"]
+
+    // numeric(15,2)
+    @DecimalMin(value = "0", message = "Le montant minimum doit être positif")
+    @Digits(integer = 13, fraction = 2, message = "Le montant minimum dépasse numeric(15,2)")
+    private BigDecimal montantMin;
+
+    @DecimalMin(value = "0", message = "Le montant maximum doit être positif")
+    @Digits(integer = 13, fraction = 2, message = "Le montant maximum dépasse numeric(15,2)")
+    private BigDecimal montantMax;
+
+    private String description;
+
+    @Size(max = 255, message = "La localisation ne doit pas dépasser 255 caractères")
+    private String localisation;
+
+    private String portfolio;
+
+    @Size(max = 255, message = "Le site web ne doit pas dépasser 255 caractères")
+    private String siteWeb;
+
+    @Email(message = "Email invalide")
+    @Size(max = 255, message = "L'email ne doit pas dépasser 255 caractères")
+    private String email;
+
+    @JsonIgnore
+    @AssertTrue(message = "Le montant minimum ne doit pas dépasser le montant maximum")
+    public boolean isMontantRangeValid() {
+        return montantMin == null || montantMax == null || montantMin.compareTo(montantMax) <= 0;
+    }
+}
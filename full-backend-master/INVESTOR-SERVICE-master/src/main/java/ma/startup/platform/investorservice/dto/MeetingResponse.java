@@ -19,6 +19,7 @@ public class MeetingResponse {
     private UUID investorId;
     private UUID startupId;
     private LocalDateTime meetingDate;
+    private Integer durationMinutes;
     private String meetingPlace;
     private String message;
     private MeetingStatus statut;
@@ -55,6 +56,7 @@ public class MeetingResponse {
                 meeting.getInvestorId(),
                 meeting.getStartupId(),
                 meeting.getMeetingDate(),
+                meeting.getDurationMinutes(),
                 meeting.getMeetingPlace(),
                 meeting.getMessage(),
                 meeting.getStatus(),
@@ -1,6 +1,8 @@
 package ma.startup.platform.investorservice.dto;
 
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,6 +23,10 @@ public class ScheduleMeetingRequest {
     @Future(message = "La date de réunion doit être dans le futur")
     private LocalDateTime meetingDate;
 
+    @Min(value = 15, message = "La durée minimale d'une réunion est de 15 minutes")
+    @Max(value = 480, message = "La durée maximale d'une réunion est de 8 heures")
+    private Integer durationMinutes; // defaults to 60 when omitted
+
     @NotNull(message = "Le lieu de réunion est obligatoire")
     private String meetingPlace;
 
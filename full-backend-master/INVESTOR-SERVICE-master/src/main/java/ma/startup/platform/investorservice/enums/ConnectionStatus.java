@@ -3,5 +3,6 @@ package ma.startup.platform.investorservice.enums;
 public enum ConnectionStatus {
     PENDING,
     ACCEPTED,
-    REJECTED
+    REJECTED,
+    EXPIRED
 }
@@ -5,5 +5,6 @@ public enum MeetingStatus {
     ACCEPTED,     // Meeting accepted
     REJECTED,     // Meeting rejected
     COMPLETED,    // Meeting happened
-    CANCELLED     // Meeting cancelled by either party
+    CANCELLED,    // Meeting cancelled by either party
+    EXPIRED       // Left pending past its TTL, closed by the expiry sweeper
 }
@@ -0,0 +1,23 @@
+package ma.startup.platform.investorservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when an accepted meeting is {@code leadTime} away
+ */
+@Data
+@AllArgsConstructor
+public class MeetingReminderEvent {
+
+    private UUID meetingId;
+    private UUID investorId;
+    private UUID startupId;
+    private LocalDateTime meetingDate;
+    private String meetingPlace;
+    private Duration leadTime;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.startup.platform.investorservice.enums.MeetingStatus;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -33,6 +34,9 @@ public class Meeting {
     @Column(name = "meeting_date", nullable = false)
     private LocalDateTime meetingDate;
 
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes = 60;
+
     @Column(name = "meeting_place", length = 500)
     private String meetingPlace;
 
@@ -49,4 +53,12 @@ public class Meeting {
 
     @Column(name = "responded_at")
     private LocalDateTime respondedAt;
-}
\ No newline at end of file
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public LocalDateTime getEndDate() {
+        return meetingDate.plusMinutes(durationMinutes);
+    }
+}
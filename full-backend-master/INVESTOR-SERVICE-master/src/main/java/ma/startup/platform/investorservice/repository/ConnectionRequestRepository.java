@@ -3,10 +3,12 @@ package ma.startup.platform.investorservice.repository;
 import ma.startup.platform.investorservice.enums.ConnectionRequest;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,4 +33,17 @@ public interface ConnectionRequestRepository extends JpaRepository<ConnectionReq
     List<ConnectionRequest> findActiveConnectionsForInvestor(@Param("investorId") UUID investorId);
 
     boolean existsByStartupIdAndInvestorIdAndStatut(UUID startupId, UUID investorId, ConnectionStatus statut);
+
+    /**
+     * Expire one batch of stale pending requests. Rows locked by another replica are skipped,
+     * so concurrent sweepers never wait on each other.
+     */
+    @Modifying
+    @Query(value = "UPDATE investor_schema.connection_requests SET statut = 'EXPIRED', responded_at = :now " +
+            "WHERE id IN (SELECT id FROM investor_schema.connection_requests " +
+            "WHERE statut = 'PENDING' AND created_at < :cutoff " +
+            "ORDER BY created_at LIMIT :batchSize FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int expirePendingBatch(@Param("cutoff") LocalDateTime cutoff,
+                           @Param("now") LocalDateTime now,
+                           @Param("batchSize") int batchSize);
 }
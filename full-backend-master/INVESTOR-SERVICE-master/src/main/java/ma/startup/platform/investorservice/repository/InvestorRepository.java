@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,4 +28,7 @@ public interface InvestorRepository extends JpaRepository<Investor, UUID> {
 
     @Query("SELECT i FROM Investor i WHERE i.localisation = :localisation")
     List<Investor> findByLocalisation(@Param("localisation") String localisation);
+
+    @Query("SELECT i.userId FROM Investor i WHERE i.userId IN :userIds")
+    List<UUID> findExistingUserIds(@Param("userIds") Collection<UUID> userIds);
 }
@@ -1,15 +1,22 @@
 package ma.startup.platform.investorservice.repository;
 
+import jakarta.persistence.QueryHint;
 import ma.startup.platform.investorservice.enums.MeetingStatus;
 import ma.startup.platform.investorservice.model.Meeting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
@@ -36,7 +43,88 @@ public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
     List<Meeting> findUpcomingMeetingsForStartup(@Param("startupId") UUID startupId,
                                                  @Param("now") LocalDateTime now);
 
+    @Query("SELECT m FROM Meeting m WHERE m.status = 'ACCEPTED' AND m.meetingDate > :from AND m.meetingDate <= :to")
+    List<Meeting> findAcceptedBetween(@Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
     @Query("SELECT COUNT(m) > 0 FROM Meeting m WHERE m.connectionId = :connectionId AND m.status = :status")
     boolean existsByConnectionIdAndStatut(@Param("connectionId") UUID connectionId,
                                           @Param("status") MeetingStatus status);
+
+    /**
+     * Expire one batch of pending meetings that were proposed before the cutoff or whose date has
+     * already passed. Rows locked by another replica are skipped.
+     */
+    @Modifying
+    @Query(value = "UPDATE investor_schema.meetings SET status = 'EXPIRED', responded_at = :now, updated_at = :now " +
+            "WHERE id IN (SELECT id FROM investor_schema.meetings " +
+            "WHERE status = 'PENDING' AND (created_at < :cutoff OR meeting_date < :now) " +
+            "ORDER BY created_at LIMIT :batchSize FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int expirePendingBatch(@Param("cutoff") LocalDateTime cutoff,
+                           @Param("now") LocalDateTime now,
+                           @Param("batchSize") int batchSize);
+
+    /**
+     * Overlap probes against ACCEPTED meetings. The range expression matches the exclusion
+     * constraints in db/002_meeting_conflicts.sql, so both probes are GiST index lookups.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM investor_schema.meetings m " +
+            "WHERE m.investor_id = :investorId AND m.status = 'ACCEPTED' AND m.id <> :meetingId " +
+            "AND tsrange(m.meeting_date, m.meeting_date + m.duration_minutes * interval '1 minute') " +
+            "&& tsrange(:start, :end))", nativeQuery = true)
+    boolean existsAcceptedOverlapForInvestor(@Param("investorId") UUID investorId,
+                                             @Param("meetingId") UUID meetingId,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM investor_schema.meetings m " +
+            "WHERE m.startup_id = :startupId AND m.status = 'ACCEPTED' AND m.id <> :meetingId " +
+            "AND tsrange(m.meeting_date, m.meeting_date + m.duration_minutes * interval '1 minute') " +
+            "&& tsrange(:start, :end))", nativeQuery = true)
+    boolean existsAcceptedOverlapForStartup(@Param("startupId") UUID startupId,
+                                            @Param("meetingId") UUID meetingId,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    /**
+     * ACCEPTED meetings intersecting a window, sorted by start, for the free-slot merge.
+     */
+    @Query(value = "SELECT * FROM investor_schema.meetings m " +
+            "WHERE m.investor_id = :investorId AND m.status = 'ACCEPTED' " +
+            "AND tsrange(m.meeting_date, m.meeting_date + m.duration_minutes * interval '1 minute') " +
+            "&& tsrange(:from, :to) ORDER BY m.meeting_date", nativeQuery = true)
+    List<Meeting> findAcceptedForInvestorBetween(@Param("investorId") UUID investorId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT * FROM investor_schema.meetings m " +
+            "WHERE m.startup_id = :startupId AND m.status = 'ACCEPTED' " +
+            "AND tsrange(m.meeting_date, m.meeting_date + m.duration_minutes * interval '1 minute') " +
+            "&& tsrange(:from, :to) ORDER BY m.meeting_date", nativeQuery = true)
+    List<Meeting> findAcceptedForStartupBetween(@Param("startupId") UUID startupId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    /**
+     * Calendar feed version: the row count plus the latest change. Rows are never read.
+     */
+    interface FeedVersion {
+        long getCount();
+
+        LocalDateTime getLastModified();
+    }
+
+    @Query("SELECT COUNT(m) AS count, MAX(m.updatedAt) AS lastModified FROM Meeting m WHERE m.investorId = :investorId")
+    FeedVersion getFeedVersionForInvestor(@Param("investorId") UUID investorId);
+
+    @Query("SELECT COUNT(m) AS count, MAX(m.updatedAt) AS lastModified FROM Meeting m WHERE m.startupId = :startupId")
+    FeedVersion getFeedVersionForStartup(@Param("startupId") UUID startupId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "100"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT m FROM Meeting m WHERE m.investorId = :investorId ORDER BY m.meetingDate")
+    Stream<Meeting> streamByInvestorId(@Param("investorId") UUID investorId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "100"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT m FROM Meeting m WHERE m.startupId = :startupId ORDER BY m.meetingDate")
+    Stream<Meeting> streamByStartupId(@Param("startupId") UUID startupId);
 }
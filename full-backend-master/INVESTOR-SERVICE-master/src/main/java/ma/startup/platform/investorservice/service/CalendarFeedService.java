@@ -0,0 +1,231 @@
+package ma.startup.platform.investorservice.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Tokenized iCalendar feeds of a participant's meetings.
+ *
+ * Feeds are versioned by (row count, latest updated_at) so calendar clients polling with
+ * If-None-Match / If-Modified-Since get a 304 from one aggregate query. Full feeds are streamed
+ * from a database cursor straight to the response.
+ */
+@Service
+@Slf4j
+public class CalendarFeedService {
+
+    public static final String KIND_INVESTOR = "investor";
+    public static final String KIND_STARTUP = "startup";
+
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final MeetingRepository meetingRepository;
+    private final RequestIdentity requestIdentity;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final byte[] feedSecret;
+
+    public CalendarFeedService(MeetingRepository meetingRepository,
+                               RequestIdentity requestIdentity,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${investor.calendar.feed-secret:}") String feedSecret) {
+        this.meetingRepository = meetingRepository;
+        this.requestIdentity = requestIdentity;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        if (feedSecret == null || feedSecret.isBlank()) {
+            log.warn("investor.calendar.feed-secret is not set: calendar feed URLs will change on every restart");
+            this.feedSecret = new byte[32];
+            new SecureRandom().nextBytes(this.feedSecret);
+        } else {
+            this.feedSecret = feedSecret.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Subscription path for the current user's feed
+     */
+    public String getFeedPath(String authHeader) {
+        UserDTO user = requestIdentity.currentUser(authHeader);
+
+        if ("INVESTOR".equals(user.getRole())) {
+            Investor investor = requestIdentity.myInvestor(authHeader)
+                    .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
+            return feedPath(KIND_INVESTOR, investor.getId());
+        } else if ("STARTUP".equals(user.getRole())) {
+            StartupDTO startup = requestIdentity.myStartup(authHeader);
+            return feedPath(KIND_STARTUP, startup.getId());
+        }
+        throw new RuntimeException("Type d'utilisateur non valide");
+    }
+
+    public boolean isValidToken(String kind, UUID ownerId, String token) {
+        if (token == null || !(KIND_INVESTOR.equals(kind) || KIND_STARTUP.equals(kind))) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(kind, ownerId).getBytes(StandardCharsets.US_ASCII),
+                token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public MeetingRepository.FeedVersion getFeedVersion(String kind, UUID ownerId) {
+        return KIND_INVESTOR.equals(kind)
+                ? meetingRepository.getFeedVersionForInvestor(ownerId)
+                : meetingRepository.getFeedVersionForStartup(ownerId);
+    }
+
+    public String etagOf(MeetingRepository.FeedVersion version) {
+        LocalDateTime lastModified = version.getLastModified();
+        long stamp = lastModified != null ? toEpochMillis(lastModified) : 0L;
+        return "\"" + version.getCount() + "-" + Long.toHexString(stamp) + "\"";
+    }
+
+    /**
+     * Write the feed to {@code out}, one VEVENT per meeting, without materializing the list
+     */
+    public void writeFeed(String kind, UUID ownerId, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<Meeting> meetings = KIND_INVESTOR.equals(kind)
+                    ? meetingRepository.streamByInvestorId(ownerId)
+                    : meetingRepository.streamByStartupId(ownerId)) {
+
+                writeLine(writer, "BEGIN:VCALENDAR");
+                writeLine(writer, "VERSION:2.0");
+                writeLine(writer, "PRODID:-//Startup Platform//Investor Service//FR");
+                writeLine(writer, "CALSCALE:GREGORIAN");
+                writeLine(writer, "METHOD:PUBLISH");
+                writeLine(writer, "X-WR-CALNAME:Réunions Startup Platform");
+
+                meetings.forEach(meeting -> {
+                    if (meeting.getStatus() != MeetingStatus.REJECTED && meeting.getStatus() != MeetingStatus.EXPIRED) {
+                        writeEvent(writer, meeting);
+                    }
+                    entityManager.detach(meeting);
+                });
+
+                writeLine(writer, "END:VCALENDAR");
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeEvent(Writer writer, Meeting meeting) {
+        try {
+            writeLine(writer, "BEGIN:VEVENT");
+            writeLine(writer, "UID:" + meeting.getId() + "@startup-platform");
+            writeLine(writer, "DTSTAMP:" + toIcsUtc(meeting.getUpdatedAt() != null ? meeting.getUpdatedAt() : meeting.getCreatedAt()));
+            writeLine(writer, "DTSTART:" + toIcsUtc(meeting.getMeetingDate()));
+            writeLine(writer, "DTEND:" + toIcsUtc(meeting.getEndDate()));
+            writeLine(writer, "SUMMARY:" + escape("Réunion investisseur / start-up"));
+            if (meeting.getMeetingPlace() != null) {
+                writeLine(writer, "LOCATION:" + escape(meeting.getMeetingPlace()));
+            }
+            if (meeting.getMessage() != null) {
+                writeLine(writer, "DESCRIPTION:" + escape(meeting.getMessage()));
+            }
+            writeLine(writer, "STATUS:" + icsStatus(meeting.getStatus()));
+            writeLine(writer, "END:VEVENT");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String icsStatus(MeetingStatus status) {
+        switch (status) {
+            case ACCEPTED:
+            case COMPLETED:
+                return "CONFIRMED";
+            case CANCELLED:
+                return "CANCELLED";
+            default:
+                return "TENTATIVE";
+        }
+    }
+
+    /**
+     * RFC 5545 content line: CRLF terminated, folded at 75 octets
+     */
+    private void writeLine(Writer writer, String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    private String feedPath(String kind, UUID ownerId) {
+        return "/api/meetings/calendar/" + kind + "/" + ownerId + ".ics?token=" + sign(kind, ownerId);
+    }
+
+    private String sign(String kind, UUID ownerId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(feedSecret, "HmacSHA256"));
+            byte[] digest = mac.doFinal((kind + ":" + ownerId).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponible", e);
+        }
+    }
+
+    private static String toIcsUtc(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(ICS_UTC);
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -3,14 +3,11 @@ package ma.startup.platform.investorservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
-import ma.startup.platform.investorservice.client.StartupServiceClient;
 import ma.startup.platform.investorservice.dto.*;
 import ma.startup.platform.investorservice.enums.ConnectionRequest;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
-import ma.startup.platform.investorservice.repository.InvestorRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +22,8 @@ import java.util.stream.Collectors;
 public class ConnectionService {
 
     private final ConnectionRequestRepository connectionRequestRepository;
-    private final InvestorRepository investorRepository;
-    private final AuthServiceClient authServiceClient;
-    private final StartupServiceClient startupServiceClient;
+    private final InvestorProfileCache investorProfileCache;
+    private final RequestIdentity requestIdentity;
 
     /**
      * Startup requests connection with an investor
@@ -37,7 +33,7 @@ public class ConnectionService {
         log.info("Creating connection request to investor: {}", request.getInvestorId());
 
         // Get current user (must be a startup)
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Verify user has startup role
         if (!"STARTUP".equals(user.getRole())) {
@@ -48,13 +44,13 @@ public class ConnectionService {
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getStartupByUserId(user.getId(), authHeader);
+            startup = requestIdentity.myStartup(authHeader);
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
 
         // Verify investor exists
-        Investor investor = investorRepository.findById(request.getInvestorId())
+        Investor investor = investorProfileCache.findById(request.getInvestorId())
                 .orElseThrow(() -> new RuntimeException("Investisseur non trouvé"));
 
         // Check if connection already exists
@@ -91,7 +87,7 @@ public class ConnectionService {
     public List<ConnectionResponse> getReceivedRequests(String authHeader) {
         log.info("Fetching received connection requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Verify user has investor role
         if (!"INVESTOR".equals(user.getRole())) {
@@ -99,7 +95,7 @@ public class ConnectionService {
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         List<ConnectionRequest> requests = connectionRequestRepository
@@ -116,7 +112,7 @@ public class ConnectionService {
     public List<ConnectionResponse> getSentRequests(String authHeader) {
         log.info("Fetching sent connection requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Verify user has startup role
         if (!"STARTUP".equals(user.getRole())) {
@@ -127,7 +123,7 @@ public class ConnectionService {
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getStartupByUserId(user.getId(), authHeader);
+            startup = requestIdentity.myStartup(authHeader);
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
@@ -139,7 +135,7 @@ public class ConnectionService {
                 .map(req -> {
                     ConnectionResponse response = ConnectionResponse.fromConnectionRequest(req);
                     // Optionally add investor details
-                    investorRepository.findById(req.getInvestorId()).ifPresent(inv ->
+                    investorProfileCache.findById(req.getInvestorId()).ifPresent(inv ->
                             response.setInvestor(InvestorResponse.fromInvestor(inv))
                     );
                     return response;
@@ -154,7 +150,7 @@ public class ConnectionService {
     public ConnectionResponse acceptConnection(UUID requestId, String authHeader) {
         log.info("Accepting connection request: {}", requestId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Verify user has investor role
         if (!"INVESTOR".equals(user.getRole())) {
@@ -162,7 +158,7 @@ public class ConnectionService {
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         // Get connection request
@@ -196,7 +192,7 @@ public class ConnectionService {
     public ConnectionResponse rejectConnection(UUID requestId, String authHeader) {
         log.info("Rejecting connection request: {}", requestId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Verify user has investor role
         if (!"INVESTOR".equals(user.getRole())) {
@@ -204,7 +200,7 @@ public class ConnectionService {
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         // Get connection request
@@ -237,7 +233,7 @@ public class ConnectionService {
     public List<ConnectionResponse> getActiveConnections(String authHeader) {
         log.info("Fetching active connections");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         List<ConnectionRequest> connections;
 
@@ -245,7 +241,7 @@ public class ConnectionService {
             // Get startup profile
             StartupDTO startup;
             try {
-                startup = startupServiceClient.getStartupByUserId(user.getId(), authHeader);
+                startup = requestIdentity.myStartup(authHeader);
             } catch (Exception e) {
                 throw new RuntimeException("Profil startup non trouvé");
             }
@@ -255,7 +251,7 @@ public class ConnectionService {
 
         } else if ("INVESTOR".equals(user.getRole())) {
             // Get investor profile
-            Investor investor = investorRepository.findByUserId(user.getId())
+            Investor investor = requestIdentity.myInvestor(authHeader)
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
             connections = connectionRequestRepository.findActiveConnectionsForInvestor(investor.getId());
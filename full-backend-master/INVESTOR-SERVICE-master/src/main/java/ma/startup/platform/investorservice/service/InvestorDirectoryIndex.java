@@ -0,0 +1,410 @@
+package ma.startup.platform.investorservice.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.dto.InvestorDirectoryResponse;
+import ma.startup.platform.investorservice.dto.InvestorResponse;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory faceted index over investor profiles.
+ *
+ * Every investor gets a dense doc id and its bit is set in one compressed bitmap per facet
+ * value (type, sector, location, ticket bucket). A directory query is an AND of per-facet ORs,
+ * and facet counts are AND cardinalities, so neither touches the database. Ticket buckets are
+ * coarse; a ticket filter is narrowed to exact range overlap on the bucket candidates only.
+ */
+@Service
+@Slf4j
+public class InvestorDirectoryIndex {
+
+    public static final String FACET_TYPE = "type";
+    public static final String FACET_SECTEUR = "secteur";
+    public static final String FACET_LOCALISATION = "localisation";
+    public static final String FACET_TICKET = "ticket";
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Lower bounds of the ticket buckets; the last bucket is open-ended
+    private static final BigDecimal[] TICKET_BOUNDS = {
+            BigDecimal.ZERO,
+            BigDecimal.valueOf(50_000),
+            BigDecimal.valueOf(100_000),
+            BigDecimal.valueOf(250_000),
+            BigDecimal.valueOf(500_000),
+            BigDecimal.valueOf(1_000_000),
+            BigDecimal.valueOf(5_000_000),
+            BigDecimal.valueOf(10_000_000)
+    };
+    private static final String[] TICKET_LABELS = {
+            "0-50K", "50K-100K", "100K-250K", "250K-500K", "500K-1M", "1M-5M", "5M-10M", "10M+"
+    };
+
+    private final InvestorRepository investorRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Snapshot snapshot = new Snapshot();
+    private List<InvestorResponse> upsertsDuringRebuild;
+
+    public InvestorDirectoryIndex(InvestorRepository investorRepository) {
+        this.investorRepository = investorRepository;
+    }
+
+    /**
+     * Reload every profile into a fresh index and swap it in. Upserts that land while the
+     * database is being read are replayed on the new index so none are lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${investor.directory.rebuild-interval:15m}",
+            initialDelayString = "${investor.directory.rebuild-interval:15m}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (upsertsDuringRebuild != null) {
+                return; // a rebuild is already running
+            }
+            upsertsDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot fresh = new Snapshot();
+        try {
+            investorRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Investor::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .map(InvestorResponse::fromInvestor)
+                    .forEach(fresh::upsert);
+        } catch (Exception e) {
+            log.error("Investor directory rebuild failed, keeping the current index: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                upsertsDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            upsertsDuringRebuild.forEach(fresh::upsert);
+            upsertsDuringRebuild = null;
+            snapshot = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Investor directory index rebuilt with {} investors", fresh.docs.size());
+    }
+
+    /**
+     * Index a created or updated profile once the current transaction commits
+     */
+    public void upsert(InvestorResponse investor) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    upsertNow(investor);
+                }
+            });
+        } else {
+            upsertNow(investor);
+        }
+    }
+
+    private void upsertNow(InvestorResponse investor) {
+        lock.writeLock().lock();
+        try {
+            snapshot.upsert(investor);
+            if (upsertsDuringRebuild != null) {
+                upsertsDuringRebuild.add(investor);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Values are OR-ed within a facet and facets are AND-ed together; a null or empty facet
+     * does not filter. The ticket filter keeps investors whose [min, max] overlaps the range.
+     */
+    public InvestorDirectoryResponse search(List<InvestorType> types,
+                                            List<String> secteurs,
+                                            List<String> localisations,
+                                            BigDecimal montantMin,
+                                            BigDecimal montantMax,
+                                            int page,
+                                            int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        lock.readLock().lock();
+        try {
+            Snapshot s = snapshot;
+
+            RoaringBitmap typeFilter = types == null || types.isEmpty() ? null
+                    : union(types.stream().map(s.byType::get).collect(Collectors.toList()));
+            RoaringBitmap sectorFilter = secteurs == null || secteurs.isEmpty() ? null
+                    : union(secteurs.stream().map(v -> s.bySector.get(normalize(v))).collect(Collectors.toList()));
+            RoaringBitmap locationFilter = localisations == null || localisations.isEmpty() ? null
+                    : union(localisations.stream().map(v -> s.byLocation.get(normalize(v))).collect(Collectors.toList()));
+            RoaringBitmap ticketFilter = montantMin == null && montantMax == null ? null
+                    : s.ticketMatches(montantMin, montantMax);
+
+            RoaringBitmap matches = intersect(s.all, typeFilter, sectorFilter, locationFilter, ticketFilter);
+
+            List<InvestorResponse> content = matches.stream()
+                    .skip((long) pageNumber * pageSize)
+                    .limit(pageSize)
+                    .mapToObj(s.docs::get)
+                    .collect(Collectors.toList());
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+
+            RoaringBitmap withoutType = intersect(s.all, sectorFilter, locationFilter, ticketFilter);
+            Map<String, Integer> typeCounts = new LinkedHashMap<>();
+            s.byType.forEach((type, bitmap) -> putCount(typeCounts, type.name(), bitmap, withoutType));
+            facets.put(FACET_TYPE, typeCounts);
+
+            RoaringBitmap withoutSector = intersect(s.all, typeFilter, locationFilter, ticketFilter);
+            Map<String, Integer> sectorCounts = new LinkedHashMap<>();
+            s.bySector.forEach((key, bitmap) -> putCount(sectorCounts, s.sectorLabels.get(key), bitmap, withoutSector));
+            facets.put(FACET_SECTEUR, sectorCounts);
+
+            RoaringBitmap withoutLocation = intersect(s.all, typeFilter, sectorFilter, ticketFilter);
+            Map<String, Integer> locationCounts = new LinkedHashMap<>();
+            s.byLocation.forEach((key, bitmap) -> putCount(locationCounts, s.locationLabels.get(key), bitmap, withoutLocation));
+            facets.put(FACET_LOCALISATION, locationCounts);
+
+            RoaringBitmap withoutTicket = intersect(s.all, typeFilter, sectorFilter, locationFilter);
+            Map<String, Integer> ticketCounts = new LinkedHashMap<>();
+            for (int i = 0; i < TICKET_LABELS.length; i++) {
+                putCount(ticketCounts, TICKET_LABELS[i], s.byTicket[i], withoutTicket);
+            }
+            facets.put(FACET_TICKET, ticketCounts);
+
+            return InvestorDirectoryResponse.builder()
+                    .content(content)
+                    .totalElements(matches.getLongCardinality())
+                    .page(pageNumber)
+                    .size(pageSize)
+                    .facets(facets)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putCount(Map<String, Integer> counts, String label, RoaringBitmap bitmap, RoaringBitmap scope) {
+        int count = RoaringBitmap.andCardinality(bitmap, scope);
+        if (count > 0) {
+            counts.put(label, count);
+        }
+    }
+
+    private static RoaringBitmap union(Collection<RoaringBitmap> bitmaps) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (RoaringBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = RoaringBitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sectors are stored as a JSON array string, but older rows may hold a plain comma list
+     */
+    private Set<String> parseSectors(String secteursInterets) {
+        Set<String> sectors = new LinkedHashSet<>();
+        if (secteursInterets == null || secteursInterets.isBlank()) {
+            return sectors;
+        }
+        try {
+            List<String> parsed = objectMapper.readValue(secteursInterets, new TypeReference<List<String>>() {});
+            parsed.stream().filter(v -> v != null && !v.isBlank()).map(String::trim).forEach(sectors::add);
+        } catch (Exception e) {
+            for (String part : secteursInterets.replaceAll("[\\[\\]\"]", "").split("[,;]")) {
+                if (!part.isBlank()) {
+                    sectors.add(part.trim());
+                }
+            }
+        }
+        return sectors;
+    }
+
+    /**
+     * Bitmaps and the doc id <-> profile mapping; mutated only under the write lock
+     */
+    private final class Snapshot {
+        private final List<InvestorResponse> docs = new ArrayList<>();
+        private final Map<UUID, Integer> docIds = new HashMap<>();
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<InvestorType, RoaringBitmap> byType = new EnumMap<>(InvestorType.class);
+        private final Map<String, RoaringBitmap> bySector = new HashMap<>();
+        private final Map<String, String> sectorLabels = new HashMap<>();
+        private final Map<String, RoaringBitmap> byLocation = new HashMap<>();
+        private final Map<String, String> locationLabels = new HashMap<>();
+        private final RoaringBitmap[] byTicket = new RoaringBitmap[TICKET_BOUNDS.length];
+
+        private Snapshot() {
+            for (int i = 0; i < byTicket.length; i++) {
+                byTicket[i] = new RoaringBitmap();
+            }
+        }
+
+        private void upsert(InvestorResponse investor) {
+            Integer existing = docIds.get(investor.getId());
+            int docId;
+            if (existing != null) {
+                docId = existing;
+                unindex(docId, docs.get(docId));
+                docs.set(docId, investor);
+            } else {
+                docId = docs.size();
+                docs.add(investor);
+                docIds.put(investor.getId(), docId);
+            }
+            index(docId, investor);
+        }
+
+        private void index(int docId, InvestorResponse investor) {
+            all.add(docId);
+            if (investor.getType() != null) {
+                byType.computeIfAbsent(investor.getType(), t -> new RoaringBitmap()).add(docId);
+            }
+            for (String sector : parseSectors(investor.getSecteursInterets())) {
+                String key = normalize(sector);
+                bySector.computeIfAbsent(key, k -> new RoaringBitmap()).add(docId);
+                sectorLabels.putIfAbsent(key, sector);
+            }
+            if (investor.getLocalisation() != null && !investor.getLocalisation().isBlank()) {
+                String key = normalize(investor.getLocalisation());
+                byLocation.computeIfAbsent(key, k -> new RoaringBitmap()).add(docId);
+                locationLabels.putIfAbsent(key, investor.getLocalisation().trim());
+            }
+            for (int bucket : ticketBuckets(investor.getMontantMin(), investor.getMontantMax())) {
+                byTicket[bucket].add(docId);
+            }
+        }
+
+        private void unindex(int docId, InvestorResponse investor) {
+            if (investor.getType() != null) {
+                removeFrom(byType, null, investor.getType(), docId);
+            }
+            for (String sector : parseSectors(investor.getSecteursInterets())) {
+                removeFrom(bySector, sectorLabels, normalize(sector), docId);
+            }
+            if (investor.getLocalisation() != null && !investor.getLocalisation().isBlank()) {
+                removeFrom(byLocation, locationLabels, normalize(investor.getLocalisation()), docId);
+            }
+            for (RoaringBitmap bucket : byTicket) {
+                bucket.remove(docId);
+            }
+        }
+
+        private <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, Map<K, String> labels, K key, int docId) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap == null) {
+                return;
+            }
+            bitmap.remove(docId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+                if (labels != null) {
+                    labels.remove(key);
+                }
+            }
+        }
+
+        /**
+         * Candidates from the overlapping buckets, narrowed to exact [min, max] overlap
+         */
+        private RoaringBitmap ticketMatches(BigDecimal montantMin, BigDecimal montantMax) {
+            RoaringBitmap candidates = new RoaringBitmap();
+            for (int bucket : ticketBuckets(montantMin != null ? montantMin : BigDecimal.ZERO, montantMax)) {
+                candidates.or(byTicket[bucket]);
+            }
+            RoaringBitmap exact = new RoaringBitmap();
+            candidates.forEach((int docId) -> {
+                InvestorResponse investor = docs.get(docId);
+                if (overlaps(investor.getMontantMin(), investor.getMontantMax(), montantMin, montantMax)) {
+                    exact.add(docId);
+                }
+            });
+            return exact;
+        }
+    }
+
+    /**
+     * Buckets a [min, max] ticket range overlaps; profiles with no amounts land in none
+     */
+    private static List<Integer> ticketBuckets(BigDecimal min, BigDecimal max) {
+        List<Integer> buckets = new ArrayList<>();
+        if (min == null && max == null) {
+            return buckets;
+        }
+        for (int i = 0; i < TICKET_BOUNDS.length; i++) {
+            BigDecimal bucketMin = TICKET_BOUNDS[i];
+            BigDecimal bucketMax = i + 1 < TICKET_BOUNDS.length ? TICKET_BOUNDS[i + 1] : null;
+            boolean startsBeforeBucketEnds = bucketMax == null || min == null || min.compareTo(bucketMax) < 0;
+            boolean endsAfterBucketStarts = max == null || max.compareTo(bucketMin) >= 0;
+            if (startsBeforeBucketEnds && endsAfterBucketStarts) {
+                buckets.add(i);
+            }
+        }
+        return buckets;
+    }
+
+    private static boolean overlaps(BigDecimal min, BigDecimal max, BigDecimal queryMin, BigDecimal queryMax) {
+        if (min == null && max == null) {
+            return false;
+        }
+        boolean startsBeforeQueryEnds = queryMax == null || min == null || min.compareTo(queryMax) <= 0;
+        boolean endsAfterQueryStarts = queryMin == null || max == null || max.compareTo(queryMin) >= 0;
+        return startsBeforeQueryEnds && endsAfterQueryStarts;
+    }
+}
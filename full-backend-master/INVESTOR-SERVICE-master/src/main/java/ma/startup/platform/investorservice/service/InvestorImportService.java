@@ -0,0 +1,392 @@
+package ma.startup.platform.investorservice.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.dto.InvestorImportReport;
+import ma.startup.platform.investorservice.dto.InvestorImportRow;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of investor profiles from partner lists (CSV with a header row, or NDJSON).
+ *
+ * The upload is parsed and validated row by row as it streams in; valid rows are buffered in
+ * small batches and loaded with PostgreSQL COPY. Rejected rows are reported with their line
+ * number instead of failing the import. The directory index is rebuilt once at the end.
+ */
+@Service
+@Slf4j
+public class InvestorImportService {
+
+    private static final String COPY_SQL = "COPY investor_schema.investors "
+            + "(id, user_id, nom, type, secteurs_interets, montant_min, montant_max, description, "
+            + "localisation, portfolio, site_web, email, created_at, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    // Accepted CSV headers, compared without case or underscores (user_id == userId)
+    private static final List<String> FIELDS = List.of(
+            "userId", "nom", "type", "secteursInterets", "montantMin", "montantMax",
+            "description", "localisation", "portfolio", "siteWeb", "email");
+
+    private final DataSource dataSource;
+    private final InvestorRepository investorRepository;
+    private final RequestIdentity requestIdentity;
+    private final Validator validator;
+    private final InvestorDirectoryIndex investorDirectoryIndex;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${investor.import.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${investor.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public InvestorImportService(DataSource dataSource,
+                                 InvestorRepository investorRepository,
+                                 RequestIdentity requestIdentity,
+                                 Validator validator,
+                                 InvestorDirectoryIndex investorDirectoryIndex) {
+        this.dataSource = dataSource;
+        this.investorRepository = investorRepository;
+        this.requestIdentity = requestIdentity;
+        this.validator = validator;
+        this.investorDirectoryIndex = investorDirectoryIndex;
+    }
+
+    public InvestorImportReport importInvestors(InputStream body, String contentType, String authHeader) {
+        UserDTO user = requestIdentity.currentUser(authHeader);
+        if (!"ADMIN".equals(user.getRole())) {
+            throw new RuntimeException("Seuls les administrateurs peuvent importer des investisseurs");
+        }
+
+        String format = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (format.startsWith("text/csv")) {
+                readCsv(reader, run);
+            } else if (format.startsWith("application/x-ndjson") || format.startsWith("application/jsonl")) {
+                readNdjson(reader, run);
+            } else {
+                throw new RuntimeException("Format non supporté: utilisez text/csv ou application/x-ndjson");
+            }
+            run.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Lecture du fichier impossible: " + e.getMessage());
+        }
+
+        InvestorImportReport report = run.report;
+        log.info("Investor import finished: {} rows, {} imported, {} rejected",
+                report.getTotalRows(), report.getImported(), report.getRejected());
+
+        if (report.getImported() > 0) {
+            investorDirectoryIndex.rebuild();
+        }
+        return report;
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, String> fieldsByHeader = new HashMap<>();
+        FIELDS.forEach(field -> fieldsByHeader.put(normalizeHeader(field), field));
+        List<String> columns = new ArrayList<>();
+        for (String name : header) {
+            String field = fieldsByHeader.get(normalizeHeader(name));
+            if (field == null) {
+                throw new RuntimeException("Colonne inconnue: " + name);
+            }
+            columns.add(field);
+        }
+        if (!columns.contains("userId")) {
+            throw new RuntimeException("La colonne user_id est obligatoire");
+        }
+
+        List<String> values;
+        while ((values = csv.next()) != null) {
+            long line = csv.recordLine;
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (values.size() != columns.size()) {
+                run.rejectUnparsed(line, null, List.of("Nombre de colonnes incorrect: " + values.size() + " au lieu de " + columns.size()));
+                continue;
+            }
+
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                String value = values.get(i).trim();
+                fields.put(columns.get(i), value.isEmpty() ? null : value);
+            }
+            try {
+                run.accept(line, objectMapper.convertValue(fields, InvestorImportRow.class));
+            } catch (IllegalArgumentException e) {
+                run.rejectUnparsed(line, fields.get("userId"), List.of(describe(e)));
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(line, objectMapper.readValue(text, InvestorImportRow.class));
+            } catch (IOException e) {
+                run.rejectUnparsed(line, null, List.of(describe(e)));
+            }
+        }
+    }
+
+    private String describe(Exception e) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof JsonMappingException)) {
+            cause = cause.getCause();
+        }
+        if (cause != null && !((JsonMappingException) cause).getPath().isEmpty()) {
+            JsonMappingException mapping = (JsonMappingException) cause;
+            return "Valeur invalide pour '" + mapping.getPath().get(mapping.getPath().size() - 1).getFieldName() + "'";
+        }
+        return "Ligne illisible: " + (cause != null ? ((JsonMappingException) cause).getOriginalMessage() : e.getMessage());
+    }
+
+    private static String normalizeHeader(String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Accumulates one import: validation, de-duplication and batched COPY
+     */
+    private final class ImportRun {
+        private final InvestorImportReport report = new InvestorImportReport();
+        private final Set<UUID> seenUserIds = new HashSet<>();
+        private final List<PendingRow> batch = new ArrayList<>();
+
+        private void accept(long line, InvestorImportRow row) {
+            report.setTotalRows(report.getTotalRows() + 1);
+
+            Set<ConstraintViolation<InvestorImportRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(line, row.getUserId(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.toList()));
+                return;
+            }
+            if (!seenUserIds.add(row.getUserId())) {
+                reject(line, row.getUserId(), List.of("Utilisateur présent plusieurs fois dans le fichier"));
+                return;
+            }
+
+            batch.add(new PendingRow(line, row));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * A row that could not even be parsed into an InvestorImportRow
+         */
+        private void rejectUnparsed(long line, Object userId, List<String> messages) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            reject(line, userId, messages);
+        }
+
+        private void reject(long line, Object userId, List<String> messages) {
+            report.setRejected(report.getRejected() + 1);
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new InvestorImportReport.RowError(
+                        line, userId != null ? userId.toString() : null, messages));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Set<UUID> existing = new HashSet<>(investorRepository.findExistingUserIds(
+                    batch.stream().map(pending -> pending.row.getUserId()).collect(Collectors.toList())));
+
+            List<PendingRow> toCopy = new ArrayList<>();
+            for (PendingRow pending : batch) {
+                if (existing.contains(pending.row.getUserId())) {
+                    reject(pending.line, pending.row.getUserId(),
+                            List.of("Un profil investisseur existe déjà pour cet utilisateur"));
+                } else {
+                    toCopy.add(pending);
+                }
+            }
+            batch.clear();
+
+            if (toCopy.isEmpty()) {
+                return;
+            }
+            try {
+                long copied = copy(toCopy);
+                report.setImported(report.getImported() + (int) copied);
+            } catch (SQLException | IOException e) {
+                log.warn("COPY of {} investors failed, retrying row by row: {}", toCopy.size(), e.getMessage());
+                // A COPY is all-or-nothing: isolate the offending rows instead of rejecting the batch
+                toCopy.forEach(this::copyOne);
+            }
+        }
+
+        private void copyOne(PendingRow pending) {
+            try {
+                report.setImported(report.getImported() + (int) copy(List.of(pending)));
+            } catch (SQLException | IOException e) {
+                reject(pending.line, pending.row.getUserId(), List.of("Erreur base de données: " + e.getMessage()));
+            }
+        }
+    }
+
+    private long copy(List<PendingRow> rows) throws SQLException, IOException {
+        String now = LocalDateTime.now().toString();
+        StringBuilder data = new StringBuilder(rows.size() * 256);
+        for (PendingRow pending : rows) {
+            InvestorImportRow row = pending.row;
+            appendCsv(data, UUID.randomUUID().toString()).append(',');
+            appendCsv(data, row.getUserId().toString()).append(',');
+            appendCsv(data, row.getNom()).append(',');
+            appendCsv(data, row.getType().name()).append(',');
+            appendCsv(data, row.getSecteursInterets()).append(',');
+            appendCsv(data, plain(row.getMontantMin())).append(',');
+            appendCsv(data, plain(row.getMontantMax())).append(',');
+            appendCsv(data, row.getDescription()).append(',');
+            appendCsv(data, row.getLocalisation()).append(',');
+            appendCsv(data, row.getPortfolio()).append(',');
+            appendCsv(data, row.getSiteWeb()).append(',');
+            appendCsv(data, row.getEmail()).append(',');
+            appendCsv(data, now).append(',');
+            appendCsv(data, now).append('\n');
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_SQL, new StringReader(data.toString()));
+        }
+    }
+
+    /**
+     * COPY csv field: quoted when present, bare empty for NULL
+     */
+    private static StringBuilder appendCsv(StringBuilder out, String value) {
+        if (value != null) {
+            out.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return out;
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount != null ? amount.toPlainString() : null;
+    }
+
+    private static final class PendingRow {
+        private final long line;
+        private final InvestorImportRow row;
+
+        private PendingRow(long line, InvestorImportRow row) {
+            this.line = line;
+            this.row = row;
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain commas, quotes and line breaks
+     */
+    private static final class CsvReader {
+        private final Reader in;
+        private long line = 1;
+        private long recordLine;
+
+        private CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        private List<String> next() throws IOException {
+            recordLine = line;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("guillemet non fermé à partir de la ligne " + recordLine);
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following != '"') {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            int c = in.read();
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+    }
+}
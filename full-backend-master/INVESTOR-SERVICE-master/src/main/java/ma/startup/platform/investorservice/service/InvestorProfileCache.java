@@ -0,0 +1,125 @@
+package ma.startup.platform.investorservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ma.startup.platform.investorservice.model.Investor;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of investor profiles by user id and by investor id.
+ *
+ * Callers get a detached copy, so mutating a result never leaks into the cache; code that
+ * updates a profile must load it from {@link InvestorRepository} and hand the saved entity back
+ * through {@link #refresh(Investor)}. Misses are not cached, so a freshly created profile is
+ * visible immediately. Other replicas see changes once the TTL expires.
+ */
+@Service
+public class InvestorProfileCache {
+
+    private final InvestorRepository investorRepository;
+    private final Cache<UUID, Investor> byUserId;
+    private final Cache<UUID, Investor> byId;
+
+    public InvestorProfileCache(InvestorRepository investorRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${investor.profile-cache.ttl:5m}") Duration ttl,
+                                @Value("${investor.profile-cache.size:10000}") long size) {
+        this.investorRepository = investorRepository;
+        this.byUserId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(size)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(size)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byUserId, "investor.profiles.by-user");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "investor.profiles.by-id");
+    }
+
+    public Optional<Investor> findByUserId(UUID userId) {
+        Investor cached = byUserId.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<Investor> loaded = investorRepository.findByUserId(userId);
+        loaded.ifPresent(this::put);
+        return loaded.map(this::copyOf);
+    }
+
+    public Optional<Investor> findById(UUID id) {
+        Investor cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<Investor> loaded = investorRepository.findById(id);
+        loaded.ifPresent(this::put);
+        return loaded.map(this::copyOf);
+    }
+
+    /**
+     * Replace the cached profile once the current transaction commits
+     */
+    public void refresh(Investor saved) {
+        Investor snapshot = copyOf(saved);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(snapshot);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        invalidate(snapshot);
+                    }
+                }
+            });
+        } else {
+            put(snapshot);
+        }
+    }
+
+    public void invalidate(Investor investor) {
+        byUserId.invalidate(investor.getUserId());
+        byId.invalidate(investor.getId());
+    }
+
+    private void put(Investor investor) {
+        Investor snapshot = copyOf(investor);
+        byUserId.put(snapshot.getUserId(), snapshot);
+        byId.put(snapshot.getId(), snapshot);
+    }
+
+    private Investor copyOf(Investor investor) {
+        return new Investor(
+                investor.getId(),
+                investor.getUserId(),
+                investor.getNom(),
+                investor.getType(),
+                investor.getSecteursInterets(),
+                investor.getMontantMin(),
+                investor.getMontantMax(),
+                investor.getDescription(),
+                investor.getLocalisation(),
+                investor.getPortfolio(),
+                investor.getSiteWeb(),
+                investor.getEmail(),
+                investor.getCreatedAt(),
+                investor.getUpdatedAt()
+        );
+    }
+}
@@ -2,11 +2,12 @@ package ma.startup.platform.investorservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
 import ma.startup.platform.investorservice.dto.CreateInvestorRequest;
+import ma.startup.platform.investorservice.dto.InvestorDirectoryResponse;
 import ma.startup.platform.investorservice.dto.InvestorResponse;
 import ma.startup.platform.investorservice.dto.UpdateInvestorRequest;
 import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.enums.InvestorType;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.repository.InvestorRepository;
 import org.springframework.data.domain.Page;
@@ -14,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,17 +26,19 @@ import java.util.stream.Collectors;
 public class InvestorService {
 
     private final InvestorRepository investorRepository;
-    private final AuthServiceClient authServiceClient;
+    private final InvestorProfileCache investorProfileCache;
+    private final RequestIdentity requestIdentity;
+    private final InvestorDirectoryIndex investorDirectoryIndex;
 
     @Transactional
     public InvestorResponse createInvestor(CreateInvestorRequest request, String authHeader) {
         log.info("Creating investor profile");
 
         // Get current user from auth service
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Check if user already has an investor profile
-        if (investorRepository.findByUserId(user.getId()).isPresent()) {
+        if (requestIdentity.myInvestor(authHeader).isPresent()) {
             throw new RuntimeException("Un profil investisseur existe déjà pour cet utilisateur");
         }
 
@@ -58,14 +62,16 @@ public class InvestorService {
 
         Investor saved = investorRepository.save(investor);
         log.info("Investor profile created with ID: {}", saved.getId());
+        investorProfileCache.refresh(saved);
+        requestIdentity.forgetInvestor(authHeader);
 
-        return InvestorResponse.fromInvestor(saved);
+        InvestorResponse response = InvestorResponse.fromInvestor(saved);
+        investorDirectoryIndex.upsert(response);
+        return response;
     }
 
     public InvestorResponse getMyInvestor(String authHeader) {
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         return InvestorResponse.fromInvestor(investor);
@@ -75,7 +81,7 @@ public class InvestorService {
     public InvestorResponse updateMyInvestor(UpdateInvestorRequest request, String authHeader) {
         log.info("Updating investor profile");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         Investor investor = investorRepository.findByUserId(user.getId())
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
@@ -93,8 +99,12 @@ public class InvestorService {
 
         Investor updated = investorRepository.save(investor);
         log.info("Investor profile updated: {}", updated.getId());
+        investorProfileCache.refresh(updated);
+        requestIdentity.forgetInvestor(authHeader);
 
-        return InvestorResponse.fromInvestor(updated);
+        InvestorResponse response = InvestorResponse.fromInvestor(updated);
+        investorDirectoryIndex.upsert(response);
+        return response;
     }
 
     public Page<InvestorResponse> getAllInvestors(Pageable pageable) {
@@ -103,12 +113,25 @@ public class InvestorService {
     }
 
     public InvestorResponse getInvestorById(UUID id) {
-        Investor investor = investorRepository.findById(id)
+        Investor investor = investorProfileCache.findById(id)
                 .orElseThrow(() -> new RuntimeException("Investisseur non trouvé"));
 
         return InvestorResponse.fromInvestor(investor);
     }
 
+    public InvestorDirectoryResponse searchDirectory(List<InvestorType> types,
+                                                     List<String> secteurs,
+                                                     List<String> localisations,
+                                                     BigDecimal montantMin,
+                                                     BigDecimal montantMax,
+                                                     int page,
+                                                     int size) {
+        if (montantMin != null && montantMax != null && montantMin.compareTo(montantMax) > 0) {
+            throw new RuntimeException("Le montant minimum doit être inférieur au montant maximum");
+        }
+        return investorDirectoryIndex.search(types, secteurs, localisations, montantMin, montantMax, page, size);
+    }
+
     public List<InvestorResponse> searchBySecteur(String secteur) {
         return investorRepository.findBySecteur(secteur).stream()
                 .map(InvestorResponse::fromInvestor)
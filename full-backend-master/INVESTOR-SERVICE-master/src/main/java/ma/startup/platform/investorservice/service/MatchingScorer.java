@@ -0,0 +1,151 @@
+package ma.startup.platform.investorservice.service;
+
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.model.Investor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Startup/investor matching score, free of Spring and I/O so it can be benchmarked on its own
+ * (see benchmarks/). Algorithm from documentation:
+ * - Sector match: 70 points
+ * - Investment amount: 20 points (10 by default, no amount on the startup side yet)
+ * - Location: 10 points
+ */
+public class MatchingScorer {
+
+    public static final int SECTOR_POINTS = 70;
+    public static final int DEFAULT_AMOUNT_POINTS = 10;
+    public static final int LOCATION_POINTS = 10;
+
+    /**
+     * Normalize the startup side once, then evaluate it against many investors
+     */
+    public StartupProfile profile(StartupDTO startup) {
+        return new StartupProfile(
+                startup.getSecteur() != null ? startup.getSecteur().toLowerCase() : null,
+                startup.getLocalisation());
+    }
+
+    public Evaluation evaluate(StartupDTO startup, Investor investor) {
+        return evaluate(profile(startup), investor);
+    }
+
+    public Evaluation evaluate(StartupProfile startup, Investor investor) {
+        boolean secteurMatch = startup.secteur != null
+                && investor.getSecteursInterets() != null
+                && investor.getSecteursInterets().toLowerCase().contains(startup.secteur);
+
+        boolean localisationMatch = startup.localisation != null
+                && investor.getLocalisation() != null
+                && startup.localisation.equalsIgnoreCase(investor.getLocalisation());
+
+        int score = DEFAULT_AMOUNT_POINTS;
+        if (secteurMatch) {
+            score += SECTOR_POINTS;
+        }
+        if (localisationMatch) {
+            score += LOCATION_POINTS;
+        }
+        return new Evaluation(score, secteurMatch, localisationMatch);
+    }
+
+    /**
+     * The {@code k} best items in {@code order}, ties kept in encounter order (same result as a
+     * stable sort + limit) using a bounded heap instead of sorting everything.
+     */
+    public static <T> List<T> topK(List<T> items, Comparator<? super T> order, int k) {
+        if (k <= 0 || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Root is the worst kept entry: lowest in order, latest encountered on ties
+        Comparator<Ranked<T>> best = (a, b) -> {
+            int cmp = order.compare(a.item, b.item);
+            return cmp != 0 ? cmp : Integer.compare(a.index, b.index);
+        };
+        PriorityQueue<Ranked<T>> heap = new PriorityQueue<>(Math.min(k, items.size()), best.reversed());
+
+        int index = 0;
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(new Ranked<>(item, index));
+            } else if (order.compare(item, heap.peek().item) < 0) {
+                // strictly better: on a tie the kept entry was encountered first
+                heap.poll();
+                heap.add(new Ranked<>(item, index));
+            }
+            index++;
+        }
+
+        List<Ranked<T>> kept = new ArrayList<>(heap);
+        kept.sort(best);
+        List<T> result = new ArrayList<>(kept.size());
+        for (Ranked<T> ranked : kept) {
+            result.add(ranked.item);
+        }
+        return result;
+    }
+
+    public static final class StartupProfile {
+        private final String secteur;
+        private final String localisation;
+
+        private StartupProfile(String secteur, String localisation) {
+            this.secteur = secteur;
+            this.localisation = localisation;
+        }
+    }
+
+    public static final class Evaluation {
+        private final int score;
+        private final boolean secteurMatch;
+        private final boolean localisationMatch;
+
+        private Evaluation(int score, boolean secteurMatch, boolean localisationMatch) {
+            this.score = score;
+            this.secteurMatch = secteurMatch;
+            this.localisationMatch = localisationMatch;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public boolean isSecteurMatch() {
+            return secteurMatch;
+        }
+
+        public boolean isLocalisationMatch() {
+            return localisationMatch;
+        }
+
+        /**
+         * Criteria stored on MatchingResult
+         */
+        public String toCriteriaJson() {
+            return "{\"secteurMatch\":" + secteurMatch
+                    + ",\"montantCompatible\":true"
+                    + ",\"localisationMatch\":" + localisationMatch
+                    + ",\"totalScore\":" + score + "}";
+        }
+
+        public String details() {
+            return "Score: " + score + "/100 - Secteur: " + (secteurMatch ? "✓" : "✗")
+                    + ", Localisation: " + (localisationMatch ? "✓" : "✗");
+        }
+    }
+
+    private static final class Ranked<T> {
+        private final T item;
+        private final int index;
+
+        private Ranked(T item, int index) {
+            this.item = item;
+            this.index = index;
+        }
+    }
+}
@@ -1,10 +1,7 @@
 package ma.startup.platform.investorservice.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
 import ma.startup.platform.investorservice.client.StartupServiceClient;
 import ma.startup.platform.investorservice.dto.*;
 import ma.startup.platform.investorservice.model.Investor;
@@ -15,18 +12,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MatchingService {
 
+    private static final int TOP_MATCHES = 20;
+
     private final MatchingResultRepository matchingResultRepository;
     private final InvestorRepository investorRepository;
+    private final InvestorProfileCache investorProfileCache;
     private final StartupServiceClient startupServiceClient;
-    private final AuthServiceClient authServiceClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RequestIdentity requestIdentity;
+    private final StartupDetailService startupDetailService;
+    private final MatchingScorer matchingScorer = new MatchingScorer();
 
     /**
      * Get matching investors for current startup user
@@ -36,21 +36,17 @@ public class MatchingService {
     public List<MatchingResponse> getMatchingInvestorsForMe(String authHeader) {
         log.info("Calculating matching investors for current startup");
 
-        // 1. Get current user
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
-        // 2. Get startup profile
-        // 2. Get startup profile
+        // 1. Get startup profile
         StartupDTO startup;
         try {
             // Use getMyStartup instead of getStartupById with userId
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = requestIdentity.myStartup(authHeader);
         } catch (Exception e) {
             log.error("Error fetching startup: {}", e.getMessage());
             throw new RuntimeException("Profil startup non trouvé pour cet utilisateur");
         }
 
-        // 3. Get all investors
+        // 2. Get all investors
         List<Investor> allInvestors = investorRepository.findAll();
 
         if (allInvestors.isEmpty()) {
@@ -58,148 +54,67 @@ public class MatchingService {
             return Collections.emptyList();
         }
 
-        // 4. Calculate matching score for each investor
+        // 3. Calculate matching score for each investor
         List<MatchingResponse> matches = new ArrayList<>();
+        MatchingScorer.StartupProfile profile = matchingScorer.profile(startup);
 
         for (Investor investor : allInvestors) {
-            int score = calculateMatchingScore(startup, investor);
+            MatchingScorer.Evaluation evaluation = matchingScorer.evaluate(profile, investor);
+            int score = evaluation.getScore();
 
             // Create or update matching result
             MatchingResult matchingResult = matchingResultRepository
                     .findByStartupIdAndInvestorId(startup.getId(), investor.getId())
                     .orElse(new MatchingResult());
 
+            boolean scoreChanged = !Integer.valueOf(score).equals(matchingResult.getScore());
             matchingResult.setStartupId(startup.getId());
             matchingResult.setInvestorId(investor.getId());
             matchingResult.setScore(score);
-            matchingResult.setCriteria(buildCriteriaJson(startup, investor, score));
+            matchingResult.setCriteria(evaluation.toCriteriaJson());
 
             matchingResultRepository.save(matchingResult);
+            if (scoreChanged) {
+                startupDetailService.invalidate(investor.getId(), startup.getId());
+            }
 
             // Build response
             MatchingResponse response = new MatchingResponse();
             response.setMatchId(matchingResult.getId());
             response.setInvestor(InvestorResponse.fromInvestor(investor));
             response.setScore(score);
-            response.setCriteria(parseCriteria(startup, investor, score));
+            response.setCriteria(toCriteria(evaluation));
             response.setIsViewed(matchingResult.getIsViewed());
 
             matches.add(response);
         }
 
-        // 5. Sort by score (highest first) and return top 20
-        return matches.stream()
-                .sorted((a, b) -> b.getScore().compareTo(a.getScore()))
-                .limit(20)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Calculate matching score between startup and investor
-     * Algorithm from documentation:
-     * - Sector match: 70 points
-     * - Investment amount: 20 points
-     * - Location: 10 points
-     */
-    private int calculateMatchingScore(StartupDTO startup, Investor investor) {
-        int score = 0;
-
-        // 1. Sector matching (70 points)
-        if (startup.getSecteur() != null && investor.getSecteursInterets() != null) {
-            String secteur = startup.getSecteur().toLowerCase();
-            String secteursInterets = investor.getSecteursInterets().toLowerCase();
-
-            if (secteursInterets.contains(secteur)) {
-                score += 70;
-                log.debug("Sector match found: {} in {}", secteur, secteursInterets);
-            }
-        }
-
-        // 2. Investment amount matching (20 points)
-        // Note: Startup entity doesn't have montant_recherche field in documentation
-        // So we give partial points by default
-        score += 10; // Default partial compatibility
-
-        // 3. Location matching (10 points)
-        if (startup.getLocalisation() != null && investor.getLocalisation() != null) {
-            if (startup.getLocalisation().equalsIgnoreCase(investor.getLocalisation())) {
-                score += 10;
-                log.debug("Location match: {}", startup.getLocalisation());
-            }
-        }
-
-        return score;
-    }
-
-    /**
-     * Build criteria JSON string for database storage
-     */
-    private String buildCriteriaJson(StartupDTO startup, Investor investor, int score) {
-        Map<String, Object> criteria = new HashMap<>();
-
-        boolean secteurMatch = startup.getSecteur() != null &&
-                investor.getSecteursInterets() != null &&
-                investor.getSecteursInterets().toLowerCase().contains(startup.getSecteur().toLowerCase());
-
-        boolean localisationMatch = startup.getLocalisation() != null &&
-                investor.getLocalisation() != null &&
-                startup.getLocalisation().equalsIgnoreCase(investor.getLocalisation());
-
-        criteria.put("secteurMatch", secteurMatch);
-        criteria.put("montantCompatible", true); // Default
-        criteria.put("localisationMatch", localisationMatch);
-        criteria.put("totalScore", score);
-
-        try {
-            return objectMapper.writeValueAsString(criteria);
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing criteria to JSON", e);
-            return "{}";
-        }
-    }
-
-    /**
-     * Parse criteria for response DTO
-     */
-    private MatchingResponse.MatchingCriteria parseCriteria(StartupDTO startup, Investor investor, int score) {
-        boolean secteurMatch = startup.getSecteur() != null &&
-                investor.getSecteursInterets() != null &&
-                investor.getSecteursInterets().toLowerCase().contains(startup.getSecteur().toLowerCase());
-
-        boolean localisationMatch = startup.getLocalisation() != null &&
-                investor.getLocalisation() != null &&
-                startup.getLocalisation().equalsIgnoreCase(investor.getLocalisation());
-
-        String details = String.format("Score: %d/100 - Secteur: %s, Localisation: %s",
-                score, secteurMatch ? "✓" : "✗", localisationMatch ? "✓" : "✗");
-
-        return new MatchingResponse.MatchingCriteria(secteurMatch, true, localisationMatch, details);
+        // 4. Top 20 by score (highest first)
+        return MatchingScorer.topK(matches, Comparator.comparing(MatchingResponse::getScore).reversed(), TOP_MATCHES);
     }
 
     /**
      * Get matching score for specific investor
      */
     public MatchingResponse getMatchingScore(UUID investorId, String authHeader) {
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
-
         // FIXED: Use getMyStartup
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = requestIdentity.myStartup(authHeader);
         } catch (Exception e) {
             log.error("Error fetching startup: {}", e.getMessage());
             throw new RuntimeException("Profil startup non trouvé");
         }
 
-        Investor investor = investorRepository.findById(investorId)
+        Investor investor = investorProfileCache.findById(investorId)
                 .orElseThrow(() -> new RuntimeException("Investisseur non trouvé"));
 
-        int score = calculateMatchingScore(startup, investor);
+        MatchingScorer.Evaluation evaluation = matchingScorer.evaluate(startup, investor);
 
         MatchingResponse response = new MatchingResponse();
         response.setInvestor(InvestorResponse.fromInvestor(investor));
-        response.setScore(score);
-        response.setCriteria(parseCriteria(startup, investor, score));
+        response.setScore(evaluation.getScore());
+        response.setCriteria(toCriteria(evaluation));
 
         return response;
     }
@@ -220,7 +135,7 @@ public class MatchingService {
         log.info("Calculating matching startups for current investor");
 
         // 1. Get current user
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Verify user is an investor
         if (!"INVESTOR".equals(user.getRole())) {
@@ -228,7 +143,7 @@ public class MatchingService {
         }
 
         // 2. Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         // 3. Get all startups
@@ -249,7 +164,8 @@ public class MatchingService {
         List<StartupMatchResponse> matches = new ArrayList<>();
 
         for (StartupDTO startup : allStartups) {
-            int score = calculateMatchingScore(startup, investor);
+            MatchingScorer.Evaluation evaluation = matchingScorer.evaluate(startup, investor);
+            int score = evaluation.getScore();
 
             // Only return startups with score >= 50 (decent match)
             if (score >= 50) {
@@ -258,12 +174,16 @@ public class MatchingService {
                         .findByStartupIdAndInvestorId(startup.getId(), investor.getId())
                         .orElse(new MatchingResult());
 
+                boolean scoreChanged = !Integer.valueOf(score).equals(matchingResult.getScore());
                 matchingResult.setStartupId(startup.getId());
                 matchingResult.setInvestorId(investor.getId());
                 matchingResult.setScore(score);
-                matchingResult.setCriteria(buildCriteriaJson(startup, investor, score));
+                matchingResult.setCriteria(evaluation.toCriteriaJson());
 
                 matchingResultRepository.save(matchingResult);
+                if (scoreChanged) {
+                    startupDetailService.invalidate(investor.getId(), startup.getId());
+                }
 
                 // Build startup info
                 StartupMatchResponse.StartupInfo startupInfo = new StartupMatchResponse.StartupInfo(
@@ -278,7 +198,8 @@ public class MatchingService {
                 );
 
                 // Build criteria
-                StartupMatchResponse.MatchingCriteria criteria = buildMatchingCriteria(startup, investor, score);
+                StartupMatchResponse.MatchingCriteria criteria = new StartupMatchResponse.MatchingCriteria(
+                        evaluation.isSecteurMatch(), true, evaluation.isLocalisationMatch(), evaluation.details());
 
                 // Build response
                 StartupMatchResponse response = new StartupMatchResponse(
@@ -293,27 +214,12 @@ public class MatchingService {
             }
         }
 
-        // 5. Sort by score (highest first) and return top 20
-        return matches.stream()
-                .sorted((a, b) -> b.getScore().compareTo(a.getScore()))
-                .limit(20)
-                .collect(Collectors.toList());
+        // 5. Top 20 by score (highest first)
+        return MatchingScorer.topK(matches, Comparator.comparing(StartupMatchResponse::getScore).reversed(), TOP_MATCHES);
     }
 
-    /**
-     * Helper method to build matching criteria
-     */
-    private StartupMatchResponse.MatchingCriteria buildMatchingCriteria(StartupDTO startup, Investor investor, int score) {
-        boolean secteurMatch = startup.getSecteur() != null &&
-                investor.getSecteursInterets() != null &&
-                investor.getSecteursInterets().toLowerCase().contains(startup.getSecteur().toLowerCase());
-
-        boolean localisationMatch = startup.getLocalisation() != null &&
-                investor.getLocalisation() != null &&
-                startup.getLocalisation().equalsIgnoreCase(investor.getLocalisation());
-
-        String details = String.format("Score: %d/100 - Secteur: %s, Localisation: %s",
-                score, secteurMatch ? "✓" : "✗", localisationMatch ? "✓" : "✗");
-
-        return new StartupMatchResponse.MatchingCriteria(secteurMatch, true, localisationMatch, details);
-    }}
\ No newline at end of file
+    private MatchingResponse.MatchingCriteria toCriteria(MatchingScorer.Evaluation evaluation) {
+        return new MatchingResponse.MatchingCriteria(
+                evaluation.isSecteurMatch(), true, evaluation.isLocalisationMatch(), evaluation.details());
+    }
+}
@@ -0,0 +1,292 @@
+package ma.startup.platform.investorservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.event.MeetingReminderEvent;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process timing wheel firing reminders ahead of accepted meetings.
+ *
+ * The wheel is loaded with accepted meetings inside the horizon at startup, topped up
+ * periodically, and kept in sync by MeetingService on accept/reschedule/cancel. Each tick only
+ * visits one bucket, so firing never scans the meetings table. Reminders are published as
+ * {@link MeetingReminderEvent}s for listeners to deliver.
+ *
+ * Time is read from an injectable {@link Clock}, and the ticker thread only calls
+ * {@link #advance()}, so the wheel can also be driven tick by tick.
+ */
+@Service
+@Slf4j
+public class MeetingReminderScheduler {
+
+    private final MeetingRepository meetingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    @Value("${investor.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${investor.reminders.lead-times:24h,1h}")
+    private List<Duration> leadTimes;
+
+    @Value("${investor.reminders.tick:1s}")
+    private Duration tick;
+
+    @Value("${investor.reminders.wheel-size:3600}")
+    private int wheelSize;
+
+    @Value("${investor.reminders.horizon:48h}")
+    private Duration horizon;
+
+    // Buckets are only touched by the ticker thread; other threads go through pendingAdds
+    private ArrayDeque<Reminder>[] wheel;
+    private final Queue<Reminder> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, List<Reminder>> remindersByMeeting = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+    private long startMillis;
+    private long tickMillis;
+    private long currentTick;
+
+    @Autowired
+    public MeetingReminderScheduler(MeetingRepository meetingRepository,
+                                    ApplicationEventPublisher eventPublisher) {
+        this(meetingRepository, eventPublisher, Clock.systemDefaultZone());
+    }
+
+    MeetingReminderScheduler(MeetingRepository meetingRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             Clock clock) {
+        this.meetingRepository = meetingRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        initWheel();
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "meeting-reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+
+        loadHorizon();
+    }
+
+    /**
+     * Empty wheel anchored at the current time; without {@link #start()} nothing advances it
+     * but explicit {@link #advance()} calls
+     */
+    @SuppressWarnings("unchecked")
+    void initWheel() {
+        tickMillis = tick.toMillis();
+        wheel = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        startMillis = clock.millis();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Top up the wheel with meetings that entered the horizon since the last load
+     */
+    @Scheduled(fixedDelayString = "${investor.reminders.refill-interval:1h}",
+            initialDelayString = "${investor.reminders.refill-interval:1h}")
+    public void loadHorizon() {
+        if (!enabled || wheel == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Meeting> meetings = meetingRepository.findAcceptedBetween(now, now.plus(horizon));
+        int added = 0;
+        for (Meeting meeting : meetings) {
+            if (!remindersByMeeting.containsKey(meeting.getId())) {
+                register(meeting);
+                added++;
+            }
+        }
+        log.debug("Reminder wheel loaded {} new meetings within {}", added, horizon);
+    }
+
+    /**
+     * (Re)arm reminders for a meeting once the current transaction commits
+     */
+    public void schedule(Meeting meeting) {
+        afterCommit(() -> {
+            cancelNow(meeting.getId());
+            if (meeting.getStatus() == MeetingStatus.ACCEPTED) {
+                register(meeting);
+            }
+        });
+    }
+
+    /**
+     * Drop reminders for a meeting once the current transaction commits
+     */
+    public void cancel(UUID meetingId) {
+        afterCommit(() -> cancelNow(meetingId));
+    }
+
+    private void register(Meeting meeting) {
+        if (!enabled || wheel == null) {
+            return;
+        }
+
+        long meetingMillis = toEpochMillis(meeting.getMeetingDate());
+        long now = clock.millis();
+        if (meetingMillis - now > horizon.toMillis()) {
+            return; // picked up by a later loadHorizon()
+        }
+
+        List<Reminder> reminders = new CopyOnWriteArrayList<>();
+        for (Duration lead : leadTimes) {
+            long fireAt = meetingMillis - lead.toMillis();
+            if (fireAt > now) {
+                Reminder reminder = new Reminder(meeting, lead, fireAt);
+                reminders.add(reminder);
+                pendingAdds.add(reminder);
+            }
+        }
+        remindersByMeeting.put(meeting.getId(), reminders);
+    }
+
+    private void cancelNow(UUID meetingId) {
+        List<Reminder> reminders = remindersByMeeting.remove(meetingId);
+        if (reminders != null) {
+            reminders.forEach(reminder -> reminder.cancelled = true);
+        }
+    }
+
+    /**
+     * Catch up to the clock, one bucket per tick. Only the ticker thread calls this once started.
+     */
+    void advance() {
+        try {
+            long targetTick = (clock.millis() - startMillis) / tickMillis;
+            drainPendingAdds();
+            while (currentTick <= targetTick) {
+                expireBucket(wheel[(int) (currentTick % wheelSize)]);
+                currentTick++;
+            }
+        } catch (Exception e) {
+            log.error("Reminder wheel tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void drainPendingAdds() {
+        Reminder reminder;
+        while ((reminder = pendingAdds.poll()) != null) {
+            if (reminder.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max((reminder.fireAtMillis - startMillis + tickMillis - 1) / tickMillis, currentTick);
+            reminder.remainingRounds = (deadlineTick - currentTick) / wheelSize;
+            wheel[(int) (deadlineTick % wheelSize)].add(reminder);
+        }
+    }
+
+    private void expireBucket(ArrayDeque<Reminder> bucket) {
+        Iterator<Reminder> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Reminder reminder = iterator.next();
+            if (reminder.cancelled) {
+                iterator.remove();
+            } else if (reminder.remainingRounds > 0) {
+                reminder.remainingRounds--;
+            } else {
+                iterator.remove();
+                fire(reminder);
+            }
+        }
+    }
+
+    private void fire(Reminder reminder) {
+        log.info("Meeting reminder: meeting {} starts in {}", reminder.event.getMeetingId(), reminder.event.getLeadTime());
+        eventPublisher.publishEvent(reminder.event);
+
+        List<Reminder> siblings = remindersByMeeting.get(reminder.event.getMeetingId());
+        if (siblings != null) {
+            siblings.remove(reminder);
+            if (siblings.isEmpty()) {
+                remindersByMeeting.remove(reminder.event.getMeetingId(), siblings);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private static final class Reminder {
+        private final MeetingReminderEvent event;
+        private final long fireAtMillis;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Reminder(Meeting meeting, Duration lead, long fireAtMillis) {
+            this.event = new MeetingReminderEvent(
+                    meeting.getId(),
+                    meeting.getInvestorId(),
+                    meeting.getStartupId(),
+                    meeting.getMeetingDate(),
+                    meeting.getMeetingPlace(),
+                    lead
+            );
+            this.fireAtMillis = fireAtMillis;
+        }
+    }
+}
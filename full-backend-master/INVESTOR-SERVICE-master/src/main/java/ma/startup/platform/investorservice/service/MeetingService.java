@@ -2,11 +2,12 @@ package ma.startup.platform.investorservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.RemoteCallExecutor;
 import ma.startup.platform.investorservice.client.StartupServiceClient;
 import ma.startup.platform.investorservice.dto.MeetingResponse;
 import ma.startup.platform.investorservice.dto.ScheduleMeetingRequest;
 import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.TimeSlotResponse;
 import ma.startup.platform.investorservice.dto.UserDTO;
 import ma.startup.platform.investorservice.enums.ConnectionRequest;
 import ma.startup.platform.investorservice.enums.ConnectionStatus;
@@ -14,14 +15,20 @@ import ma.startup.platform.investorservice.enums.MeetingStatus;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.model.Meeting;
 import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
-import ma.startup.platform.investorservice.repository.InvestorRepository;
 import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,11 +36,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MeetingService {
 
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+    // Stand-in id for a meeting not saved yet, so overlap probes never exclude a real row
+    private static final UUID UNSAVED_MEETING_ID = new UUID(0L, 0L);
+    private static final Duration MAX_SLOT_WINDOW = Duration.ofDays(31);
+    private static final int MAX_SLOTS = 100;
+
     private final MeetingRepository meetingRepository;
     private final ConnectionRequestRepository connectionRequestRepository;
-    private final InvestorRepository investorRepository;
-    private final AuthServiceClient authServiceClient;
+    private final InvestorProfileCache investorProfileCache;
+    private final RequestIdentity requestIdentity;
     private final StartupServiceClient startupServiceClient;
+    private final MeetingReminderScheduler meetingReminderScheduler;
+    private final RemoteCallExecutor remoteCallExecutor;
 
     /**
      * Investor schedules a meeting with a startup
@@ -43,13 +58,13 @@ public class MeetingService {
         log.info("Scheduling meeting for connection: {}", request.getConnectionId());
 
         // Get current user (must be investor)
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
         if (!"INVESTOR".equals(user.getRole())) {
             throw new RuntimeException("Seuls les investisseurs peuvent proposer des réunions");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         // Verify connection exists and is accepted
@@ -79,10 +94,13 @@ public class MeetingService {
         meeting.setInvestorId(investor.getId());
         meeting.setStartupId(connection.getStartupId());
         meeting.setMeetingDate(request.getMeetingDate());
+        meeting.setDurationMinutes(durationOf(request));
         meeting.setMeetingPlace(request.getMeetingPlace());
         meeting.setMessage(request.getMessage());
         meeting.setStatus(MeetingStatus.PENDING);
 
+        ensureNoConflict(meeting);
+
         Meeting saved = meetingRepository.save(meeting);
         log.info("Meeting scheduled with ID: {}", saved.getId());
 
@@ -104,7 +122,7 @@ public class MeetingService {
     public List<MeetingResponse> getReceivedMeetings(String authHeader) {
         log.info("Fetching received meeting requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         if (!"STARTUP".equals(user.getRole())) {
             throw new RuntimeException("Seules les start-ups peuvent consulter les réunions reçues");
@@ -113,7 +131,7 @@ public class MeetingService {
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = requestIdentity.myStartup(authHeader);
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
@@ -124,7 +142,7 @@ public class MeetingService {
                 .map(meeting -> {
                     MeetingResponse response = MeetingResponse.fromMeeting(meeting);
                     // Add investor details
-                    investorRepository.findById(meeting.getInvestorId()).ifPresent(inv ->
+                    investorProfileCache.findById(meeting.getInvestorId()).ifPresent(inv ->
                             response.setInvestor(new MeetingResponse.InvestorInfo(
                                     inv.getId(),
                                     inv.getNom(),
@@ -143,37 +161,60 @@ public class MeetingService {
     public List<MeetingResponse> getSentMeetings(String authHeader) {
         log.info("Fetching sent meeting requests");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         if (!"INVESTOR".equals(user.getRole())) {
             throw new RuntimeException("Seuls les investisseurs peuvent consulter leurs réunions envoyées");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
         List<Meeting> meetings = meetingRepository.findByInvestorIdOrderByMeetingDateDesc(investor.getId());
 
+        // Fetch each distinct startup once, concurrently; slow lookups are left out
+        Map<UUID, StartupDTO> startups = fetchStartups(meetings.stream()
+                .map(Meeting::getStartupId)
+                .distinct()
+                .collect(Collectors.toList()), authHeader);
+
         return meetings.stream()
                 .map(meeting -> {
                     MeetingResponse response = MeetingResponse.fromMeeting(meeting);
                     // Add startup details
-                    try {
-                        StartupDTO startup = startupServiceClient.getStartupById(meeting.getStartupId(), authHeader);
+                    StartupDTO startup = startups.get(meeting.getStartupId());
+                    if (startup != null) {
                         response.setStartup(new MeetingResponse.StartupInfo(
                                 startup.getId(),
                                 startup.getNom(),
                                 startup.getSecteur()
                         ));
-                    } catch (Exception e) {
-                        log.warn("Could not fetch startup details: {}", e.getMessage());
                     }
                     return response;
                 })
                 .collect(Collectors.toList());
     }
 
+    private Map<UUID, StartupDTO> fetchStartups(List<UUID> startupIds, String authHeader) {
+        Map<UUID, CompletableFuture<StartupDTO>> lookups = new LinkedHashMap<>();
+        for (UUID startupId : startupIds) {
+            lookups.put(startupId, remoteCallExecutor.call(
+                    "startup " + startupId,
+                    options -> startupServiceClient.getStartupById(startupId, authHeader, options),
+                    null));
+        }
+
+        Map<UUID, StartupDTO> startups = new HashMap<>();
+        lookups.forEach((startupId, lookup) -> {
+            StartupDTO startup = lookup.join();
+            if (startup != null) {
+                startups.put(startupId, startup);
+            }
+        });
+        return startups;
+    }
+
     /**
      * Startup accepts a meeting
      */
@@ -181,7 +222,7 @@ public class MeetingService {
     public MeetingResponse acceptMeeting(UUID meetingId, String authHeader) {
         log.info("Accepting meeting: {}", meetingId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         if (!"STARTUP".equals(user.getRole())) {
             throw new RuntimeException("Seules les start-ups peuvent accepter des réunions");
@@ -190,7 +231,7 @@ public class MeetingService {
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = requestIdentity.myStartup(authHeader);
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
@@ -209,13 +250,23 @@ public class MeetingService {
             throw new RuntimeException("Cette réunion a déjà été traitée");
         }
 
+        ensureNoConflict(meeting);
+
         // Accept the meeting
         meeting.setStatus(MeetingStatus.ACCEPTED);
         meeting.setRespondedAt(LocalDateTime.now());
 
-        Meeting updated = meetingRepository.save(meeting);
+        // Flush now so a concurrent accept caught by the exclusion constraint surfaces here
+        Meeting updated;
+        try {
+            updated = meetingRepository.saveAndFlush(meeting);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Ce créneau chevauche une autre réunion acceptée");
+        }
         log.info("Meeting accepted: {}", meetingId);
 
+        meetingReminderScheduler.schedule(updated);
+
         return MeetingResponse.fromMeeting(updated);
     }
 
@@ -226,7 +277,7 @@ public class MeetingService {
     public MeetingResponse rejectMeeting(UUID meetingId, String authHeader) {
         log.info("Rejecting meeting: {}", meetingId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         if (!"STARTUP".equals(user.getRole())) {
             throw new RuntimeException("Seules les start-ups peuvent rejeter des réunions");
@@ -235,7 +286,7 @@ public class MeetingService {
         // Get startup profile
         StartupDTO startup;
         try {
-            startup = startupServiceClient.getMyStartup(authHeader);
+            startup = requestIdentity.myStartup(authHeader);
         } catch (Exception e) {
             throw new RuntimeException("Profil startup non trouvé");
         }
@@ -271,7 +322,7 @@ public class MeetingService {
     public MeetingResponse rescheduleMeeting(UUID meetingId, ScheduleMeetingRequest request, String authHeader) {
         log.info("Rescheduling meeting: {}", meetingId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Get meeting
         Meeting meeting = meetingRepository.findById(meetingId)
@@ -282,11 +333,11 @@ public class MeetingService {
         boolean isStartup = false;
 
         if ("INVESTOR".equals(user.getRole())) {
-            Investor investor = investorRepository.findByUserId(user.getId())
+            Investor investor = requestIdentity.myInvestor(authHeader)
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
             isInvestor = meeting.getInvestorId().equals(investor.getId());
         } else if ("STARTUP".equals(user.getRole())) {
-            StartupDTO startup = startupServiceClient.getMyStartup(authHeader);
+            StartupDTO startup = requestIdentity.myStartup(authHeader);
             isStartup = meeting.getStartupId().equals(startup.getId());
         }
 
@@ -296,6 +347,9 @@ public class MeetingService {
 
         // Update meeting details
         meeting.setMeetingDate(request.getMeetingDate());
+        if (request.getDurationMinutes() != null) {
+            meeting.setDurationMinutes(request.getDurationMinutes());
+        }
         meeting.setMeetingPlace(request.getMeetingPlace());
         if (request.getMessage() != null) {
             meeting.setMessage(request.getMessage());
@@ -303,9 +357,14 @@ public class MeetingService {
         meeting.setStatus(MeetingStatus.PENDING); // Reset to pending for approval
         meeting.setRespondedAt(null);
 
+        ensureNoConflict(meeting);
+
         Meeting updated = meetingRepository.save(meeting);
         log.info("Meeting rescheduled: {}", meetingId);
 
+        // Back to PENDING: reminders are re-armed when the new slot is accepted
+        meetingReminderScheduler.cancel(meetingId);
+
         return MeetingResponse.fromMeeting(updated);
     }
 
@@ -315,17 +374,17 @@ public class MeetingService {
     public List<MeetingResponse> getUpcomingMeetings(String authHeader) {
         log.info("Fetching upcoming meetings");
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
         LocalDateTime now = LocalDateTime.now();
 
         List<Meeting> meetings;
 
         if ("INVESTOR".equals(user.getRole())) {
-            Investor investor = investorRepository.findByUserId(user.getId())
+            Investor investor = requestIdentity.myInvestor(authHeader)
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
             meetings = meetingRepository.findUpcomingMeetingsForInvestor(investor.getId(), now);
         } else if ("STARTUP".equals(user.getRole())) {
-            StartupDTO startup = startupServiceClient.getMyStartup(authHeader);
+            StartupDTO startup = requestIdentity.myStartup(authHeader);
             meetings = meetingRepository.findUpcomingMeetingsForStartup(startup.getId(), now);
         } else {
             throw new RuntimeException("Type d'utilisateur non valide");
@@ -343,7 +402,7 @@ public class MeetingService {
     public MeetingResponse cancelMeeting(UUID meetingId, String authHeader) {
         log.info("Cancelling meeting: {}", meetingId);
 
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
 
         // Get meeting
         Meeting meeting = meetingRepository.findById(meetingId)
@@ -353,11 +412,11 @@ public class MeetingService {
         boolean canCancel = false;
 
         if ("INVESTOR".equals(user.getRole())) {
-            Investor investor = investorRepository.findByUserId(user.getId())
+            Investor investor = requestIdentity.myInvestor(authHeader)
                     .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
             canCancel = meeting.getInvestorId().equals(investor.getId());
         } else if ("STARTUP".equals(user.getRole())) {
-            StartupDTO startup = startupServiceClient.getMyStartup(authHeader);
+            StartupDTO startup = requestIdentity.myStartup(authHeader);
             canCancel = meeting.getStartupId().equals(startup.getId());
         }
 
@@ -377,6 +436,133 @@ public class MeetingService {
         Meeting updated = meetingRepository.save(meeting);
         log.info("Meeting cancelled: {}", meetingId);
 
+        meetingReminderScheduler.cancel(meetingId);
+
         return MeetingResponse.fromMeeting(updated);
     }
+
+    /**
+     * Find slots of the requested length that are free for both sides of a connection
+     */
+    public List<TimeSlotResponse> findCommonFreeSlots(UUID connectionId, LocalDateTime from, LocalDateTime to,
+                                                      int durationMinutes, String authHeader) {
+        log.info("Finding free slots for connection: {} between {} and {}", connectionId, from, to);
+
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("La date de début doit précéder la date de fin");
+        }
+        if (Duration.between(from, to).compareTo(MAX_SLOT_WINDOW) > 0) {
+            throw new RuntimeException("La fenêtre de recherche ne peut pas dépasser 31 jours");
+        }
+        if (durationMinutes < 15 || durationMinutes > 480) {
+            throw new RuntimeException("La durée doit être comprise entre 15 minutes et 8 heures");
+        }
+
+        UserDTO user = requestIdentity.currentUser(authHeader);
+
+        ConnectionRequest connection = connectionRequestRepository.findById(connectionId)
+                .orElseThrow(() -> new RuntimeException("Connexion non trouvée"));
+
+        if (connection.getStatut() != ConnectionStatus.ACCEPTED) {
+            throw new RuntimeException("La connexion doit être acceptée avant de proposer une réunion");
+        }
+
+        // Verify user is part of this connection
+        boolean isParticipant = false;
+        if ("INVESTOR".equals(user.getRole())) {
+            Investor investor = requestIdentity.myInvestor(authHeader)
+                    .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
+            isParticipant = connection.getInvestorId().equals(investor.getId());
+        } else if ("STARTUP".equals(user.getRole())) {
+            StartupDTO startup = requestIdentity.myStartup(authHeader);
+            isParticipant = connection.getStartupId().equals(startup.getId());
+        }
+
+        if (!isParticipant) {
+            throw new RuntimeException("Cette connexion ne vous appartient pas");
+        }
+
+        List<Meeting> investorMeetings = meetingRepository
+                .findAcceptedForInvestorBetween(connection.getInvestorId(), from, to);
+        List<Meeting> startupMeetings = meetingRepository
+                .findAcceptedForStartupBetween(connection.getStartupId(), from, to);
+
+        return freeSlots(mergeBusy(investorMeetings, startupMeetings), from, to, Duration.ofMinutes(durationMinutes));
+    }
+
+    /**
+     * Merge two start-sorted meeting lists into one list of disjoint busy intervals, in linear time.
+     */
+    static List<LocalDateTime[]> mergeBusy(List<Meeting> first, List<Meeting> second) {
+        List<LocalDateTime[]> busy = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+
+        while (i < first.size() || j < second.size()) {
+            Meeting next;
+            if (j >= second.size() || (i < first.size()
+                    && !first.get(i).getMeetingDate().isAfter(second.get(j).getMeetingDate()))) {
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+
+            LocalDateTime[] last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+            if (last != null && !next.getMeetingDate().isAfter(last[1])) {
+                if (next.getEndDate().isAfter(last[1])) {
+                    last[1] = next.getEndDate();
+                }
+            } else {
+                busy.add(new LocalDateTime[]{next.getMeetingDate(), next.getEndDate()});
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Walk the gaps between busy intervals and cut them into back-to-back slots.
+     */
+    static List<TimeSlotResponse> freeSlots(List<LocalDateTime[]> busy, LocalDateTime from,
+                                            LocalDateTime to, Duration length) {
+        List<TimeSlotResponse> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+
+        for (int k = 0; k <= busy.size() && slots.size() < MAX_SLOTS; k++) {
+            LocalDateTime gapEnd = k < busy.size() && busy.get(k)[0].isBefore(to) ? busy.get(k)[0] : to;
+
+            while (slots.size() < MAX_SLOTS && !cursor.plus(length).isAfter(gapEnd)) {
+                slots.add(new TimeSlotResponse(cursor, cursor.plus(length)));
+                cursor = cursor.plus(length);
+            }
+
+            if (k < busy.size() && busy.get(k)[1].isAfter(cursor)) {
+                cursor = busy.get(k)[1];
+            }
+            if (!cursor.isBefore(to)) {
+                break;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Reject a slot overlapping an accepted meeting of either participant.
+     * Each probe is a single GiST index lookup, independent of calendar size.
+     */
+    private void ensureNoConflict(Meeting meeting) {
+        UUID meetingId = meeting.getId() != null ? meeting.getId() : UNSAVED_MEETING_ID;
+        LocalDateTime start = meeting.getMeetingDate();
+        LocalDateTime end = meeting.getEndDate();
+
+        if (meetingRepository.existsAcceptedOverlapForInvestor(meeting.getInvestorId(), meetingId, start, end)) {
+            throw new RuntimeException("L'investisseur a déjà une réunion acceptée sur ce créneau");
+        }
+        if (meetingRepository.existsAcceptedOverlapForStartup(meeting.getStartupId(), meetingId, start, end)) {
+            throw new RuntimeException("La start-up a déjà une réunion acceptée sur ce créneau");
+        }
+    }
+
+    private int durationOf(ScheduleMeetingRequest request) {
+        return request.getDurationMinutes() != null ? request.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+    }
 }
@@ -0,0 +1,103 @@
+package ma.startup.platform.investorservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.investorservice.repository.ConnectionRequestRepository;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Background sweeper closing connection requests and meetings left PENDING past their TTL.
+ * Each batch runs in its own short transaction and uses FOR UPDATE SKIP LOCKED, so several
+ * replicas can sweep at the same time without blocking each other.
+ */
+@Service
+@Slf4j
+public class PendingExpiryService {
+
+    private final ConnectionRequestRepository connectionRequestRepository;
+    private final MeetingRepository meetingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredConnections;
+    private final Counter expiredMeetings;
+
+    @Value("${investor.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${investor.expiry.connection-ttl:30d}")
+    private Duration connectionTtl;
+
+    @Value("${investor.expiry.meeting-ttl:14d}")
+    private Duration meetingTtl;
+
+    @Value("${investor.expiry.batch-size:200}")
+    private int batchSize;
+
+    @Value("${investor.expiry.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    public PendingExpiryService(ConnectionRequestRepository connectionRequestRepository,
+                                MeetingRepository meetingRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.connectionRequestRepository = connectionRequestRepository;
+        this.meetingRepository = meetingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiredConnections = Counter.builder("investor.expiry.swept")
+                .description("Pending rows expired by the sweeper")
+                .tag("type", "connection")
+                .register(meterRegistry);
+        this.expiredMeetings = Counter.builder("investor.expiry.swept")
+                .description("Pending rows expired by the sweeper")
+                .tag("type", "meeting")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${investor.expiry.sweep-interval:5m}",
+            initialDelayString = "${investor.expiry.initial-delay:1m}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        int connections = sweepInBatches(() -> connectionRequestRepository
+                .expirePendingBatch(now.minus(connectionTtl), now, batchSize));
+        expiredConnections.increment(connections);
+
+        int meetings = sweepInBatches(() -> meetingRepository
+                .expirePendingBatch(now.minus(meetingTtl), now, batchSize));
+        expiredMeetings.increment(meetings);
+
+        if (connections > 0 || meetings > 0) {
+            log.info("Expired {} pending connection requests and {} pending meetings", connections, meetings);
+        }
+    }
+
+    /**
+     * Run batches until one comes back short, so a large backlog is drained over several
+     * short transactions instead of one long lock.
+     */
+    private int sweepInBatches(IntSupplier batch) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer swept = transactionTemplate.execute(status -> batch.getAsInt());
+            int count = swept != null ? swept : 0;
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
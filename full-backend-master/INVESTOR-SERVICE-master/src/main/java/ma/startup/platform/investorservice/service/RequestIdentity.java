@@ -0,0 +1,98 @@
+package ma.startup.platform.investorservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.StartupServiceClient;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import ma.startup.platform.investorservice.dto.UserDTO;
+import ma.startup.platform.investorservice.model.Investor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Identity of the caller for the current HTTP request: user, and startup or investor profile.
+ *
+ * Each piece is resolved lazily on first use and reused for the rest of the request, so nested
+ * service calls do not repeat the auth-service, startup-service or profile lookups. A failed
+ * user or startup lookup is not memoized; an absent investor profile is, as Optional.empty().
+ * Request scoped: not usable from scheduled or pooled threads.
+ */
+@Component
+@RequestScope
+public class RequestIdentity {
+
+    private final AuthServiceClient authServiceClient;
+    private final StartupServiceClient startupServiceClient;
+    private final InvestorProfileCache investorProfileCache;
+    private final Counter savedUserLookups;
+    private final Counter savedStartupLookups;
+    private final Counter savedInvestorLookups;
+
+    // Keyed by Authorization header, in case a request acts on behalf of several tokens
+    private final Map<String, UserDTO> users = new HashMap<>();
+    private final Map<String, StartupDTO> startups = new HashMap<>();
+    private final Map<String, Optional<Investor>> investors = new HashMap<>();
+
+    public RequestIdentity(AuthServiceClient authServiceClient,
+                           StartupServiceClient startupServiceClient,
+                           InvestorProfileCache investorProfileCache,
+                           MeterRegistry meterRegistry) {
+        this.authServiceClient = authServiceClient;
+        this.startupServiceClient = startupServiceClient;
+        this.investorProfileCache = investorProfileCache;
+        this.savedUserLookups = meterRegistry.counter("investor.identity.lookups.saved", "kind", "user");
+        this.savedStartupLookups = meterRegistry.counter("investor.identity.lookups.saved", "kind", "startup");
+        this.savedInvestorLookups = meterRegistry.counter("investor.identity.lookups.saved", "kind", "investor");
+    }
+
+    public UserDTO currentUser(String authHeader) {
+        UserDTO user = users.get(authHeader);
+        if (user != null) {
+            savedUserLookups.increment();
+            return user;
+        }
+        user = authServiceClient.getCurrentUser(authHeader);
+        users.put(authHeader, user);
+        return user;
+    }
+
+    /**
+     * Startup profile of the current user (startup-service /api/startups/me)
+     */
+    public StartupDTO myStartup(String authHeader) {
+        StartupDTO startup = startups.get(authHeader);
+        if (startup != null) {
+            savedStartupLookups.increment();
+            return startup;
+        }
+        startup = startupServiceClient.getMyStartup(authHeader);
+        startups.put(authHeader, startup);
+        return startup;
+    }
+
+    /**
+     * Investor profile of the current user; an absent profile is remembered too
+     */
+    public Optional<Investor> myInvestor(String authHeader) {
+        Optional<Investor> investor = investors.get(authHeader);
+        if (investor != null) {
+            savedInvestorLookups.increment();
+            return investor;
+        }
+        investor = investorProfileCache.findByUserId(currentUser(authHeader).getId());
+        investors.put(authHeader, investor);
+        return investor;
+    }
+
+    /**
+     * Forget the investor profile after the current request created or updated it
+     */
+    public void forgetInvestor(String authHeader) {
+        investors.remove(authHeader);
+    }
+}
@@ -1,29 +1,53 @@
 package ma.startup.platform.investorservice.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
-import ma.startup.platform.investorservice.client.AuthServiceClient;
+import ma.startup.platform.investorservice.client.RemoteCallExecutor;
 import ma.startup.platform.investorservice.client.StartupServiceClient;
 import ma.startup.platform.investorservice.dto.*;
 import ma.startup.platform.investorservice.model.Investor;
 import ma.startup.platform.investorservice.model.MatchingResult;
-import ma.startup.platform.investorservice.repository.InvestorRepository;
 import ma.startup.platform.investorservice.repository.MatchingResultRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class StartupDetailService {
 
     private final StartupServiceClient startupServiceClient;
-    private final InvestorRepository investorRepository;
     private final MatchingResultRepository matchingResultRepository;
-    private final AuthServiceClient authServiceClient;
+    private final RequestIdentity requestIdentity;
+    private final RemoteCallExecutor remoteCallExecutor;
+
+    // Assembled responses per (investor, startup), local to each replica. startup-service does not
+    // notify this service of changes (no shared event channel), so an edited startup, team or
+    // milestone stays visible for up to investor.startup-details.cache-ttl: the TTL is the only
+    // staleness bound for remote data. Only the local matching score is evicted explicitly.
+    private final Cache<DetailKey, StartupDetailResponse> detailCache;
+
+    public StartupDetailService(StartupServiceClient startupServiceClient,
+                                MatchingResultRepository matchingResultRepository,
+                                RequestIdentity requestIdentity,
+                                RemoteCallExecutor remoteCallExecutor,
+                                @Value("${investor.startup-details.cache-ttl:60s}") Duration cacheTtl,
+                                @Value("${investor.startup-details.cache-size:10000}") long cacheSize) {
+        this.startupServiceClient = startupServiceClient;
+        this.matchingResultRepository = matchingResultRepository;
+        this.requestIdentity = requestIdentity;
+        this.remoteCallExecutor = remoteCallExecutor;
+        this.detailCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheSize)
+                .build();
+    }
 
     /**
      * Get detailed startup information for investor
@@ -32,44 +56,51 @@ public class StartupDetailService {
         log.info("Fetching detailed info for startup: {}", startupId);
 
         // Verify user is an investor
-        UserDTO user = authServiceClient.getCurrentUser(authHeader);
+        UserDTO user = requestIdentity.currentUser(authHeader);
         if (!"INVESTOR".equals(user.getRole())) {
             throw new RuntimeException("Seuls les investisseurs peuvent consulter les détails des start-ups");
         }
 
         // Get investor profile
-        Investor investor = investorRepository.findByUserId(user.getId())
+        Investor investor = requestIdentity.myInvestor(authHeader)
                 .orElseThrow(() -> new RuntimeException("Profil investisseur non trouvé"));
 
-        // Fetch startup basic info
-        StartupDTO startup;
-        try {
-            startup = startupServiceClient.getStartupById(startupId, authHeader);
-        } catch (Exception e) {
-            log.error("Error fetching startup: {}", e.getMessage());
+        DetailKey key = new DetailKey(investor.getId(), startupId);
+        StartupDetailResponse cached = detailCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Fetch startup info, team and milestones concurrently
+        CompletableFuture<StartupDTO> startupLookup = remoteCallExecutor.call(
+                "startup " + startupId,
+                options -> startupServiceClient.getStartupById(startupId, authHeader, options),
+                null);
+        CompletableFuture<List<FounderMemberDTO>> teamLookup = remoteCallExecutor.call(
+                "team of startup " + startupId,
+                options -> startupServiceClient.getTeamByStartupId(startupId, authHeader, options),
+                null);
+        CompletableFuture<List<MilestoneDTO>> milestonesLookup = remoteCallExecutor.call(
+                "milestones of startup " + startupId,
+                options -> startupServiceClient.getMilestonesByStartupId(startupId, authHeader, options),
+                null);
+
+        StartupDTO startup = startupLookup.join();
+        if (startup == null) {
             throw new RuntimeException("Start-up non trouvée");
         }
 
-        // Fetch team members
-        List<FounderMemberDTO> teamMembers;
-        try {
-            teamMembers = startupServiceClient.getTeamByStartupId(startupId, authHeader);
-        } catch (Exception e) {
-            log.warn("Could not fetch team members: {}", e.getMessage());
+        // Team and milestones degrade to empty lists; such partial responses are not cached
+        List<FounderMemberDTO> teamMembers = teamLookup.join();
+        List<MilestoneDTO> milestones = milestonesLookup.join();
+        boolean complete = teamMembers != null && milestones != null;
+        if (teamMembers == null) {
             teamMembers = List.of();
         }
-
-        // Fetch milestones
-        List<MilestoneDTO> milestones;
-        try {
-            milestones = startupServiceClient.getMilestonesByStartupId(startupId, authHeader);
-        } catch (Exception e) {
-            log.warn("Could not fetch milestones: {}", e.getMessage());
+        if (milestones == null) {
             milestones = List.of();
         }
 
-
-
         // Get matching score with this investor
         Integer matchingScore = null;
         try {
@@ -115,7 +146,7 @@ public class StartupDetailService {
                 .collect(Collectors.toList());
 
         // Build complete response
-        return StartupDetailResponse.builder()
+        StartupDetailResponse response = StartupDetailResponse.builder()
                 .id(startup.getId())
                 .nom(startup.getNom())
                 .secteur(startup.getSecteur())
@@ -132,5 +163,41 @@ public class StartupDetailService {
                 .milestonesPending((int) milestonesPending)
                 .matchingScore(matchingScore)
                 .build();
+
+        if (complete) {
+            detailCache.put(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Drop the cached details one investor sees for a startup after its matching score changed.
+     * This is the only eviction path: startup-side edits are never evicted and rely on the TTL.
+     */
+    public void invalidate(UUID investorId, UUID startupId) {
+        detailCache.invalidate(new DetailKey(investorId, startupId));
+    }
+
+    private static final class DetailKey {
+        private final UUID investorId;
+        private final UUID startupId;
+
+        private DetailKey(UUID investorId, UUID startupId) {
+            this.investorId = investorId;
+            this.startupId = startupId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DetailKey)) return false;
+            DetailKey other = (DetailKey) o;
+            return investorId.equals(other.investorId) && startupId.equals(other.startupId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * investorId.hashCode() + startupId.hashCode();
+        }
     }
 }
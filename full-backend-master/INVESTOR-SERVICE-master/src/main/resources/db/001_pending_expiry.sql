@@ -0,0 +1,10 @@
+-- Pending request expiry sweeper (PendingExpiryService)
+-- Partial indexes keep each SKIP LOCKED batch an index range scan over PENDING rows only.
+
+CREATE INDEX IF NOT EXISTS idx_connection_requests_pending_created
+    ON investor_schema.connection_requests (created_at)
+    WHERE statut = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_meetings_pending_created
+    ON investor_schema.meetings (created_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,20 @@
+-- Meeting durations and overlap protection (MeetingService.ensureNoConflict)
+-- Accepted meetings of the same investor or the same startup may not overlap.
+-- Existing overlapping ACCEPTED rows must be resolved before the constraints can be added.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE investor_schema.meetings
+    ADD COLUMN IF NOT EXISTS duration_minutes INTEGER NOT NULL DEFAULT 60;
+
+ALTER TABLE investor_schema.meetings
+    ADD CONSTRAINT meetings_investor_no_overlap EXCLUDE USING gist (
+        investor_id WITH =,
+        tsrange(meeting_date, meeting_date + duration_minutes * interval '1 minute') WITH &&
+    ) WHERE (status = 'ACCEPTED');
+
+ALTER TABLE investor_schema.meetings
+    ADD CONSTRAINT meetings_startup_no_overlap EXCLUDE USING gist (
+        startup_id WITH =,
+        tsrange(meeting_date, meeting_date + duration_minutes * interval '1 minute') WITH &&
+    ) WHERE (status = 'ACCEPTED');
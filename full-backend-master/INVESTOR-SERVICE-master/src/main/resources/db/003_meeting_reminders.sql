@@ -0,0 +1,6 @@
+-- Meeting reminder wheel (MeetingReminderScheduler.loadHorizon)
+-- Horizon loads only read ACCEPTED meetings by date.
+
+CREATE INDEX IF NOT EXISTS idx_meetings_accepted_date
+    ON investor_schema.meetings (meeting_date)
+    WHERE status = 'ACCEPTED';
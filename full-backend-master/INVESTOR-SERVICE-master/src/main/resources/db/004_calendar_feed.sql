@@ -0,0 +1,12 @@
+-- iCalendar feed versioning (CalendarFeedService)
+-- updated_at changes on every write (including reschedules and sweeper expiries);
+-- the feed ETag / Last-Modified come from COUNT(*) and MAX(updated_at) per participant.
+
+ALTER TABLE investor_schema.meetings
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_meetings_investor_updated
+    ON investor_schema.meetings (investor_id, updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_meetings_startup_updated
+    ON investor_schema.meetings (startup_id, updated_at);
@@ -0,0 +1,69 @@
+package ma.startup.platform.investorservice.client;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Retryer;
+import ma.startup.platform.investorservice.dto.StartupDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemoteCallExecutorTests {
+
+    private final RemoteCallExecutor executor = new RemoteCallExecutor(2, 4, Duration.ofMillis(200));
+    private HttpServer server;
+    private StartupServiceClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // startup-service that answers far beyond the call timeout
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        client = Feign.builder()
+                .contract(new SpringMvcContract())
+                .retryer(Retryer.NEVER_RETRY)
+                .target(StartupServiceClient.class, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.destroy();
+    }
+
+    @Test
+    void timedOutCallFallsBackAndItsRequestIsAbandoned() throws Exception {
+        CompletableFuture<Throwable> requestOutcome = new CompletableFuture<>();
+
+        CompletableFuture<StartupDTO> lookup = executor.call("startup", options -> {
+            try {
+                return client.getStartupById(UUID.randomUUID(), "Bearer token", options);
+            } catch (RuntimeException e) {
+                requestOutcome.complete(e);
+                throw e;
+            }
+        }, null);
+
+        assertThat(lookup.get(1, TimeUnit.SECONDS)).isNull();
+        // The HTTP request itself gives up at the call timeout, not at the server's 5 s
+        assertThat(requestOutcome.get(2, TimeUnit.SECONDS)).hasMessageContaining("timed out");
+    }
+}
@@ -0,0 +1,128 @@
+package ma.startup.platform.investorservice.service;
+
+import ma.startup.platform.investorservice.dto.InvestorDirectoryResponse;
+import ma.startup.platform.investorservice.dto.InvestorResponse;
+import ma.startup.platform.investorservice.enums.InvestorType;
+import ma.startup.platform.investorservice.repository.InvestorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InvestorDirectoryIndexTests {
+
+    private InvestorDirectoryIndex index;
+    private InvestorResponse atlas;
+
+    @BeforeEach
+    void indexInvestors() {
+        index = new InvestorDirectoryIndex(mock(InvestorRepository.class));
+        atlas = investor("Atlas", InvestorType.VC, "[\"FinTech\",\"EdTech\"]", "Casablanca", 100_000, 400_000);
+        index.upsert(atlas);
+        index.upsert(investor("Oasis", InvestorType.VC, "[\"HealthTech\"]", "Rabat", 20_000, 80_000));
+        index.upsert(investor("Cedre", InvestorType.BUSINESS_ANGEL, "[\"FinTech\"]", "Casablanca", 10_000, 50_000));
+        index.upsert(investor("Dune", InvestorType.INCUBATOR, "EdTech", "Rabat", null, null));
+        index.upsert(investor("Erg", InvestorType.VC, "[\"FinTech\"]", "Rabat", 2_000_000, 8_000_000));
+    }
+
+    @Test
+    void matchesAreTheIntersectionOfEveryFacetFilter() {
+        InvestorDirectoryResponse response = search(List.of(InvestorType.VC), List.of("FinTech"), null);
+
+        assertThat(response.getTotalElements()).isEqualTo(2);
+        assertThat(response.getContent()).extracting(InvestorResponse::getNom).containsExactly("Atlas", "Erg");
+    }
+
+    @Test
+    void eachFacetCountIgnoresItsOwnFilterButAppliesTheOthers() {
+        InvestorDirectoryResponse response = search(List.of(InvestorType.VC), List.of("FinTech"), null);
+        Map<String, Map<String, Integer>> facets = response.getFacets();
+
+        // FinTech investors of every type
+        assertThat(facets.get(InvestorDirectoryIndex.FACET_TYPE))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("VC", 2, "BUSINESS_ANGEL", 1));
+        // VC investors of every sector
+        assertThat(facets.get(InvestorDirectoryIndex.FACET_SECTEUR))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("FinTech", 2, "EdTech", 1, "HealthTech", 1));
+        // No location filter: restricted by both type and sector
+        assertThat(facets.get(InvestorDirectoryIndex.FACET_LOCALISATION))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("Casablanca", 1, "Rabat", 1));
+        assertThat(facets.get(InvestorDirectoryIndex.FACET_TICKET))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("100K-250K", 1, "250K-500K", 1, "1M-5M", 1, "5M-10M", 1));
+    }
+
+    @Test
+    void withoutFiltersFacetsCountTheWholeDirectory() {
+        InvestorDirectoryResponse response = search(null, null, null);
+
+        assertThat(response.getTotalElements()).isEqualTo(5);
+        assertThat(response.getFacets().get(InvestorDirectoryIndex.FACET_TYPE))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("VC", 3, "BUSINESS_ANGEL", 1, "INCUBATOR", 1));
+        assertThat(response.getFacets().get(InvestorDirectoryIndex.FACET_SECTEUR))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("FinTech", 3, "EdTech", 2, "HealthTech", 1));
+    }
+
+    @Test
+    void valueFiltersAreCaseInsensitiveAndOredWithinAFacet() {
+        InvestorDirectoryResponse response = search(null, List.of("fintech", " HEALTHTECH "), List.of("rabat"));
+
+        assertThat(response.getContent()).extracting(InvestorResponse::getNom).containsExactly("Oasis", "Erg");
+        // Location facet still counts Casablanca, since its own filter is ignored
+        assertThat(response.getFacets().get(InvestorDirectoryIndex.FACET_LOCALISATION))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("Casablanca", 2, "Rabat", 2));
+    }
+
+    @Test
+    void ticketFilterKeepsOnlyExactRangeOverlapsFromTheBucketCandidates() {
+        // Cedre (10K-50K) shares the 50K-100K bucket boundary but does not reach 60K
+        InvestorDirectoryResponse response = index.search(null, null, null,
+                BigDecimal.valueOf(60_000), BigDecimal.valueOf(90_000), 0, 20);
+
+        assertThat(response.getContent()).extracting(InvestorResponse::getNom).containsExactly("Oasis");
+        assertThat(response.getFacets().get(InvestorDirectoryIndex.FACET_TICKET))
+                .containsEntry("0-50K", 2)
+                .containsEntry("50K-100K", 2);
+    }
+
+    @Test
+    void upsertMovesAnUpdatedProfileBetweenFacetValues() {
+        // A fresh response, as InvestorService maps one per save
+        InvestorResponse updated = investor("Atlas", InvestorType.CORPORATE_VC, atlas.getSecteursInterets(), "Tanger",
+                100_000, 400_000);
+        updated.setId(atlas.getId());
+        index.upsert(updated);
+
+        InvestorDirectoryResponse response = search(null, null, null);
+
+        assertThat(response.getTotalElements()).isEqualTo(5);
+        assertThat(response.getFacets().get(InvestorDirectoryIndex.FACET_TYPE))
+                .containsEntry("VC", 2)
+                .containsEntry("CORPORATE_VC", 1);
+        assertThat(response.getFacets().get(InvestorDirectoryIndex.FACET_LOCALISATION))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("Casablanca", 1, "Rabat", 3, "Tanger", 1));
+    }
+
+    private InvestorDirectoryResponse search(List<InvestorType> types, List<String> secteurs, List<String> localisations) {
+        return index.search(types, secteurs, localisations, null, null, 0, 20);
+    }
+
+    private static InvestorResponse investor(String nom, InvestorType type, String secteurs, String localisation,
+                                             Integer montantMin, Integer montantMax) {
+        InvestorResponse investor = new InvestorResponse();
+        investor.setId(UUID.randomUUID());
+        investor.setUserId(UUID.randomUUID());
+        investor.setNom(nom);
+        investor.setType(type);
+        investor.setSecteursInterets(secteurs);
+        investor.setLocalisation(localisation);
+        investor.setMontantMin(montantMin != null ? BigDecimal.valueOf(montantMin) : null);
+        investor.setMontantMax(montantMax != null ? BigDecimal.valueOf(montantMax) : null);
+        return investor;
+    }
+}
@@ -0,0 +1,186 @@
+package ma.startup.platform.investorservice.service;
+
+import ma.startup.platform.investorservice.enums.MeetingStatus;
+import ma.startup.platform.investorservice.event.MeetingReminderEvent;
+import ma.startup.platform.investorservice.model.Meeting;
+import ma.startup.platform.investorservice.repository.MeetingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drives the wheel by hand with a 20 ms tick and 4 buckets (one revolution every 80 ms), so
+ * reminders a few hundred milliseconds away need several rounds before they fire. The clock only
+ * moves when a test advances it, one tick at a time, like the ticker thread would.
+ */
+class MeetingReminderSchedulerTests {
+
+    private static final long TICK_MILLIS = 20;
+    private static final int WHEEL_SIZE = 4;
+
+    private final ManualClock clock = new ManualClock(Instant.parse("2026-01-05T09:00:00Z"));
+    private final List<Fired> fired = new ArrayList<>();
+    private MeetingReminderScheduler scheduler;
+
+    @Test
+    void reminderBeyondOneRevolutionFiresOnceAfterItsRounds() {
+        startWheel(Duration.ofMillis(100));
+        long fireAt = clock.millis() + 400;
+        Meeting meeting = acceptedMeeting(fireAt + 100);
+
+        scheduler.schedule(meeting);
+
+        runFor(380);
+        assertThat(fired).as("fired before its remaining rounds elapsed").isEmpty();
+
+        runFor(TICK_MILLIS);
+        assertThat(fired).hasSize(1);
+        assertThat(fired.get(0).atMillis).isEqualTo(fireAt);
+        assertThat(fired.get(0).event.getMeetingId()).isEqualTo(meeting.getId());
+        assertThat(fired.get(0).event.getLeadTime()).isEqualTo(Duration.ofMillis(100));
+
+        runFor(4 * TICK_MILLIS * WHEEL_SIZE);
+        assertThat(fired).hasSize(1);
+    }
+
+    @Test
+    void eachLeadTimeFiresSeparately() {
+        startWheel(Duration.ofMillis(300), Duration.ofMillis(100));
+        long start = clock.millis();
+        Meeting meeting = acceptedMeeting(start + 500);
+
+        scheduler.schedule(meeting);
+        runFor(500);
+
+        assertThat(fired).extracting(f -> f.event.getLeadTime())
+                .containsExactly(Duration.ofMillis(300), Duration.ofMillis(100));
+        assertThat(fired).extracting(f -> f.atMillis)
+                .containsExactly(start + 200, start + 400);
+    }
+
+    @Test
+    void reminderAddedMidRevolutionFiresOnItsTick() {
+        startWheel(Duration.ofMillis(100));
+        runFor(130);
+        long fireAt = clock.millis() + 250;
+
+        scheduler.schedule(acceptedMeeting(fireAt + 100));
+        runFor(240);
+        assertThat(fired).isEmpty();
+
+        runFor(2 * TICK_MILLIS);
+        assertThat(fired).hasSize(1);
+        assertThat(fired.get(0).atMillis).isBetween(fireAt, fireAt + TICK_MILLIS);
+    }
+
+    @Test
+    void cancelledReminderNeverFires() {
+        startWheel(Duration.ofMillis(100));
+        Meeting meeting = acceptedMeeting(clock.millis() + 300);
+
+        scheduler.schedule(meeting);
+        scheduler.cancel(meeting.getId());
+
+        runFor(600);
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void reschedulingReplacesThePreviousReminder() {
+        startWheel(Duration.ofMillis(100));
+        Meeting meeting = acceptedMeeting(clock.millis() + 300);
+        scheduler.schedule(meeting);
+
+        long movedFireAt = clock.millis() + 600;
+        meeting.setMeetingDate(toLocal(movedFireAt + 100));
+        scheduler.schedule(meeting);
+
+        runFor(800);
+        assertThat(fired).hasSize(1);
+        assertThat(fired.get(0).atMillis).isEqualTo(movedFireAt);
+    }
+
+    @Test
+    void leadTimeAlreadyPassedIsNotScheduled() {
+        startWheel(Duration.ofHours(1));
+
+        scheduler.schedule(acceptedMeeting(clock.millis() + 200));
+
+        runFor(400);
+        assertThat(fired).isEmpty();
+    }
+
+    private void startWheel(Duration... leadTimes) {
+        scheduler = new MeetingReminderScheduler(mock(MeetingRepository.class),
+                event -> fired.add(new Fired((MeetingReminderEvent) event, clock.millis())), clock);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "leadTimes", List.of(leadTimes));
+        ReflectionTestUtils.setField(scheduler, "tick", Duration.ofMillis(TICK_MILLIS));
+        ReflectionTestUtils.setField(scheduler, "wheelSize", WHEEL_SIZE);
+        ReflectionTestUtils.setField(scheduler, "horizon", Duration.ofHours(48));
+        scheduler.initWheel();
+    }
+
+    private void runFor(long millis) {
+        for (long elapsed = 0; elapsed < millis; elapsed += TICK_MILLIS) {
+            clock.advance(TICK_MILLIS);
+            scheduler.advance();
+        }
+    }
+
+    private Meeting acceptedMeeting(long startMillis) {
+        Meeting meeting = new Meeting();
+        meeting.setId(UUID.randomUUID());
+        meeting.setInvestorId(UUID.randomUUID());
+        meeting.setStartupId(UUID.randomUUID());
+        meeting.setMeetingDate(toLocal(startMillis));
+        meeting.setStatus(MeetingStatus.ACCEPTED);
+        return meeting;
+    }
+
+    private LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    private record Fired(MeetingReminderEvent event, long atMillis) {
+    }
+
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        private ManualClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
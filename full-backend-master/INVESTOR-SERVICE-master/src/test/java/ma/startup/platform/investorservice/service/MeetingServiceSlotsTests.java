@@ -0,0 +1,102 @@
+package ma.startup.platform.investorservice.service;
+
+import ma.startup.platform.investorservice.dto.TimeSlotResponse;
+import ma.startup.platform.investorservice.model.Meeting;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeetingServiceSlotsTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+    @Test
+    void mergeBusyJoinsOverlappingAndTouchingMeetingsOfBothSides() {
+        List<Meeting> investor = List.of(meeting(9, 0, 60), meeting(13, 0, 30));
+        List<Meeting> startup = List.of(meeting(9, 30, 60), meeting(10, 30, 30), meeting(15, 0, 60));
+
+        List<LocalDateTime[]> busy = MeetingService.mergeBusy(investor, startup);
+
+        assertThat(busy).hasSize(3);
+        assertInterval(busy.get(0), at(9, 0), at(11, 0));
+        assertInterval(busy.get(1), at(13, 0), at(13, 30));
+        assertInterval(busy.get(2), at(15, 0), at(16, 0));
+    }
+
+    @Test
+    void mergeBusyKeepsAMeetingContainedInAnother() {
+        List<LocalDateTime[]> busy = MeetingService.mergeBusy(
+                List.of(meeting(9, 0, 180)), List.of(meeting(10, 0, 30)));
+
+        assertThat(busy).hasSize(1);
+        assertInterval(busy.get(0), at(9, 0), at(12, 0));
+    }
+
+    @Test
+    void mergeBusyWithNoMeetingsIsEmpty() {
+        assertThat(MeetingService.mergeBusy(List.of(), List.of())).isEmpty();
+    }
+
+    @Test
+    void freeSlotsCutsGapsIntoBackToBackSlots() {
+        List<LocalDateTime[]> busy = List.<LocalDateTime[]>of(new LocalDateTime[]{at(10, 0), at(11, 0)});
+
+        List<TimeSlotResponse> slots = MeetingService.freeSlots(busy, at(9, 0), at(12, 0), Duration.ofMinutes(30));
+
+        assertThat(slots).extracting(TimeSlotResponse::getStart)
+                .containsExactly(at(9, 0), at(9, 30), at(11, 0), at(11, 30));
+        assertThat(slots).allSatisfy(slot ->
+                assertThat(Duration.between(slot.getStart(), slot.getEnd())).isEqualTo(Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void freeSlotsSkipsGapsShorterThanTheRequestedLength() {
+        List<LocalDateTime[]> busy = List.of(
+                new LocalDateTime[]{at(9, 0), at(9, 45)},
+                new LocalDateTime[]{at(10, 30), at(12, 0)});
+
+        List<TimeSlotResponse> slots = MeetingService.freeSlots(busy, at(9, 0), at(13, 0), Duration.ofHours(1));
+
+        assertThat(slots).extracting(TimeSlotResponse::getStart).containsExactly(at(12, 0));
+    }
+
+    @Test
+    void freeSlotsIgnoresBusyTimeOutsideTheWindow() {
+        List<LocalDateTime[]> busy = List.of(
+                new LocalDateTime[]{at(7, 0), at(9, 30)},
+                new LocalDateTime[]{at(11, 0), at(14, 0)});
+
+        List<TimeSlotResponse> slots = MeetingService.freeSlots(busy, at(9, 0), at(11, 0), Duration.ofMinutes(30));
+
+        assertThat(slots).extracting(TimeSlotResponse::getStart)
+                .containsExactly(at(9, 30), at(10, 0), at(10, 30));
+    }
+
+    @Test
+    void freeSlotsIsCappedAtOneHundredSlots() {
+        List<TimeSlotResponse> slots = MeetingService.freeSlots(List.of(), DAY, DAY.plusDays(7), Duration.ofMinutes(15));
+
+        assertThat(slots).hasSize(100);
+        assertThat(slots.get(99).getStart()).isEqualTo(DAY.plusMinutes(99 * 15));
+    }
+
+    private static Meeting meeting(int hour, int minute, int durationMinutes) {
+        Meeting meeting = new Meeting();
+        meeting.setMeetingDate(at(hour, minute));
+        meeting.setDurationMinutes(durationMinutes);
+        return meeting;
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+
+    private static void assertInterval(LocalDateTime[] interval, LocalDateTime start, LocalDateTime end) {
+        assertThat(interval[0]).isEqualTo(start);
+        assertThat(interval[1]).isEqualTo(end);
+    }
+}
@@ -13,13 +13,11 @@ import java.util.UUID;
 public class PitchDTO {
     private UUID id;
     private UUID startupId;
-    private String probleme;
-    private String solution;
-    private String cible;
-    private String avantage;
-    private String pitchGenere;
     private String type;
+    private String preview;
+    private Boolean truncated;
     private Integer rating;
     private Boolean isFavorite;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,142 @@
+package ma.startup.platform.pitchservice.client;
+
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.service.AIGovernor;
+import ma.startup.platform.pitchservice.service.TokenEstimator;
+import ma.startup.platform.pitchservice.service.provider.AICompletionRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Retries des appels au provider IA.
+ *
+ * Sont rejoués les 429, les 5xx et les erreurs réseau, avec un backoff exponentiel à jitter
+ * complet. Un header Retry-After est respecté tant qu'il ne dépasse pas {@code max-backoff} ;
+ * au-delà, l'erreur est remontée immédiatement plutôt que de bloquer le thread.
+ *
+ * Chaque tentative HTTP passe séparément par l'{@link AIGovernor} : elle consomme son propre
+ * crédit requêtes/tokens, et l'attente entre deux tentatives ne garde pas de place de concurrence.
+ */
+@Component
+@Slf4j
+public class AIRetryPolicy {
+
+    private final AIGovernor governor;
+    private final TokenEstimator tokenEstimator;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public AIRetryPolicy(AIGovernor governor,
+                         TokenEstimator tokenEstimator,
+                         @Value("${ai.retry.max-attempts:3}") int maxAttempts,
+                         @Value("${ai.retry.initial-backoff:500ms}") Duration initialBackoff,
+                         @Value("${ai.retry.max-backoff:8s}") Duration maxBackoff) {
+        this.governor = governor;
+        this.tokenEstimator = tokenEstimator;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    public <T> T execute(String description, AICompletionRequest request, Supplier<T> call) {
+        return execute(description, request, call, () -> true);
+    }
+
+    /**
+     * @param request  requête envoyée, pour estimer les tokens réservés à chaque tentative
+     * @param canRetry consulté après un échec, par exemple pour ne pas rejouer un flux
+     *                 dont une partie a déjà été transmise au client
+     */
+    public <T> T execute(String description, AICompletionRequest request, Supplier<T> call,
+                         BooleanSupplier canRetry) {
+        // Débit de max_tokens avant l'envoi, régularisé sur la longueur de la réponse reçue
+        int promptTokens = tokenEstimator.estimate(request.prompt());
+        int estimatedTokens = promptTokens + request.maxTokens();
+        ToIntFunction<T> usedTokens = result -> promptTokens
+                + (result instanceof String text ? tokenEstimator.estimate(text) : request.maxTokens());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return governor.execute(estimatedTokens, call, usedTokens);
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isRetryable(e) || !canRetry.getAsBoolean()) {
+                    throw e;
+                }
+
+                Duration backoff = jitteredBackoff(attempt);
+                Duration retryAfter = retryAfter(e);
+                if (retryAfter != null) {
+                    if (retryAfter.compareTo(maxBackoff) > 0) {
+                        log.warn("{}: Retry-After de {}s trop long, abandon", description, retryAfter.toSeconds());
+                        throw e;
+                    }
+                    backoff = retryAfter.compareTo(backoff) > 0 ? retryAfter : backoff;
+                }
+
+                log.warn("{}: tentative {}/{} échouée ({}), nouvel essai dans {} ms",
+                        description, attempt, maxAttempts, e.getMessage(), backoff.toMillis());
+                sleep(backoff);
+            }
+        }
+    }
+
+    private boolean isRetryable(RuntimeException e) {
+        if (e instanceof HttpStatusCodeException statusError) {
+            return statusError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || statusError.getStatusCode().is5xxServerError();
+        }
+        return e instanceof ResourceAccessException;
+    }
+
+    private Duration jitteredBackoff(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    /**
+     * Retry-After en secondes ou en date HTTP
+     */
+    private Duration retryAfter(RuntimeException e) {
+        if (!(e instanceof HttpStatusCodeException statusError) || statusError.getResponseHeaders() == null) {
+            return null;
+        }
+        String value = statusError.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ignored) {
+            // format date HTTP
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    private void sleep(Duration backoff) {
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Retry interrompu", interrupted);
+        }
+    }
+}
@@ -8,9 +8,13 @@ import ma.startup.platform.pitchservice.client.StartupServiceClient;
 import ma.startup.platform.pitchservice.dto.*;
 import ma.startup.platform.pitchservice.model.PitchType;
 import ma.startup.platform.pitchservice.service.AIService;
+import ma.startup.platform.pitchservice.service.AIStreamService;
+import ma.startup.platform.pitchservice.service.DeckGenerator;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +29,8 @@ import java.util.Map;
 public class AIController {
 
     private final AIService aiService;
+    private final AIStreamService aiStreamService;
+    private final DeckGenerator deckGenerator;
     private final AuthServiceClient authServiceClient;
     private final StartupServiceClient startupServiceClient;
 
@@ -75,14 +81,14 @@ public class AIController {
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        String pitchDeck = aiService.generatePitch(
+        // Sections générées en parallèle puis assemblées
+        String pitchDeck = DeckGenerator.assemble(deckGenerator.generateSections(
                 request.getProbleme(),
                 request.getSolution(),
                 request.getCible(),
                 request.getAvantage(),
-                startup,
-                PitchType.DECK
-        );
+                startup
+        ));
 
         Map<String, String> response = new HashMap<>();
         response.put("type", "DECK");
@@ -142,6 +148,72 @@ public class AIController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Elevator Pitch en streaming (Server-Sent Events), sauvegardé en fin de flux
+     * POST /api/ai/generate-elevator/stream
+     */
+    @PostMapping(value = "/generate-elevator/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamElevatorPitch(
+            @Valid @RequestBody PitchRequestDTO request,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        log.info("Génération d'un elevator pitch en streaming");
+
+        UserDTO user = authServiceClient.getCurrentUser(authToken);
+        StartupDTO startup = startupServiceClient.getMyStartup(authToken);
+
+        return aiStreamService.streamPitch(request, startup, PitchType.ELEVATOR);
+    }
+
+    /**
+     * Structure de Pitch Deck en streaming, sauvegardée en fin de flux
+     * POST /api/ai/generate-deck/stream
+     */
+    @PostMapping(value = "/generate-deck/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPitchDeck(
+            @Valid @RequestBody PitchRequestDTO request,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        log.info("Génération d'une structure pitch deck en streaming");
+
+        UserDTO user = authServiceClient.getCurrentUser(authToken);
+        StartupDTO startup = startupServiceClient.getMyStartup(authToken);
+
+        return aiStreamService.streamDeck(request, startup);
+    }
+
+    /**
+     * Amélioration d'un pitch en streaming
+     * POST /api/ai/improve/stream
+     */
+    @PostMapping(value = "/improve/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamImprovePitch(
+            @RequestBody ImprovePitchRequestDTO request,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        log.info("Amélioration d'un pitch en streaming");
+
+        UserDTO user = authServiceClient.getCurrentUser(authToken);
+
+        return aiStreamService.streamImprovePitch(request.getPitch(), request.getSuggestions());
+    }
+
+    /**
+     * Suggestions d'amélioration en streaming
+     * POST /api/ai/suggestions/stream
+     */
+    @PostMapping(value = "/suggestions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSuggestions(
+            @RequestBody AnalyzePitchRequestDTO request,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        log.info("Génération de suggestions en streaming");
+
+        UserDTO user = authServiceClient.getCurrentUser(authToken);
+
+        return aiStreamService.streamSuggestions(request.getPitch());
+    }
+
     /**
      * Test de connectivité avec l'API Hugging Face
      * GET /api/ai/test
@@ -0,0 +1,121 @@
+package ma.startup.platform.pitchservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.startup.platform.pitchservice.service.provider.LocalStubProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Faux endpoint Groq (format OpenAI chat/completions) pour tester et charger la chaîne IA hors ligne.
+ * Actif uniquement avec le profil "mock-ai", qui pointe groq.api.url dessus.
+ *
+ * La latence, le débit de tokens en streaming et une proportion de 429 avec Retry-After sont
+ * configurables via mock.groq.*.
+ */
+@RestController
+@RequestMapping("/mock/groq/openai/v1")
+@Profile("mock-ai")
+public class MockGroqController {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${mock.groq.latency:300ms}")
+    private Duration latency;
+
+    @Value("${mock.groq.token-delay:20ms}")
+    private Duration tokenDelay;
+
+    @Value("${mock.groq.rate-limit-ratio:0.0}")
+    private double rateLimitRatio;
+
+    @Value("${mock.groq.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @PostMapping("/chat/completions")
+    public ResponseEntity<?> chatCompletions(@RequestBody Map<String, Object> request) {
+        if (ThreadLocalRandom.current().nextDouble() < rateLimitRatio) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Map.of("error", Map.of("message", "Rate limit reached (mock)", "type", "tokens")));
+        }
+
+        String model = String.valueOf(request.getOrDefault("model", "mock"));
+        String prompt = promptOf(request);
+        String content = LocalStubProvider.cannedText(prompt);
+        int promptTokens = Math.max(1, prompt.length() / 4);
+        int completionTokens = Math.max(1, content.length() / 4);
+
+        if (Boolean.TRUE.equals(request.get("stream"))) {
+            StreamingResponseBody body = out -> {
+                pause(latency);
+                for (String token : content.split("(?<= )")) {
+                    Map<String, Object> chunk = Map.of(
+                            "object", "chat.completion.chunk",
+                            "model", model,
+                            "choices", List.of(Map.of("index", 0, "delta", Map.of("content", token))));
+                    out.write(("data: " + objectMapper.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    pause(tokenDelay);
+                }
+                // Dernier fragment: raison de fin et usage, comme l'API Groq (x_groq.usage)
+                Map<String, Object> last = Map.of(
+                        "object", "chat.completion.chunk",
+                        "model", model,
+                        "choices", List.of(Map.of("index", 0, "delta", Map.of(), "finish_reason", "stop")),
+                        "x_groq", Map.of("usage", Map.of(
+                                "prompt_tokens", promptTokens,
+                                "completion_tokens", completionTokens,
+                                "total_tokens", promptTokens + completionTokens)));
+                out.write(("data: " + objectMapper.writeValueAsString(last) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            };
+            return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(body);
+        }
+
+        pause(latency);
+        return ResponseEntity.ok(Map.of(
+                "object", "chat.completion",
+                "model", model,
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", content),
+                        "finish_reason", "stop")),
+                "usage", Map.of(
+                        "prompt_tokens", promptTokens,
+                        "completion_tokens", completionTokens,
+                        "total_tokens", promptTokens + completionTokens)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private String promptOf(Map<String, Object> request) {
+        Object messages = request.get("messages");
+        if (messages instanceof List<?> list && !list.isEmpty() && list.get(list.size() - 1) instanceof Map<?, ?> last) {
+            return String.valueOf(((Map<String, Object>) last).getOrDefault("content", ""));
+        }
+        return "";
+    }
+
+    private void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -7,18 +7,22 @@ import lombok.extern.slf4j.Slf4j;
 import ma.startup.platform.pitchservice.client.AuthServiceClient;
 import ma.startup.platform.pitchservice.client.StartupServiceClient;
 import ma.startup.platform.pitchservice.dto.*;
+import ma.startup.platform.pitchservice.model.DeckSection;
 import ma.startup.platform.pitchservice.model.Pitch;
 import ma.startup.platform.pitchservice.model.PitchType;
-import ma.startup.platform.pitchservice.repository.PitchRepository;
+import ma.startup.platform.pitchservice.service.PitchJobService;
 import ma.startup.platform.pitchservice.service.PitchService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,34 +33,81 @@ import java.util.UUID;
 public class PitchController {
 
     private final PitchService pitchService;
+    private final PitchJobService pitchJobService;
     private final AuthServiceClient authServiceClient;
     private final StartupServiceClient startupServiceClient;
-    private final PitchRepository pitchRepository;
 
     /**
      * ENDPOINT PRINCIPAL : Générer un nouveau pitch avec l'IA
      * POST /api/pitchs/generate
+     *
+     * La génération est asynchrone : la réponse 202 contient le job, à suivre via
+     * GET /api/pitchs/jobs/{id} ou GET /api/pitchs/jobs/{id}/events.
+     * Une demande quasi identique à un pitch existant renvoie un job déjà terminé sur ce pitch,
+     * sauf avec ?force=true
      */
     @PostMapping("/generate")
-    public ResponseEntity<PitchResponseDTO> generatePitch(
+    public ResponseEntity<PitchJobDTO> generatePitch(
             @Valid @RequestBody PitchRequestDTO request,
+            @RequestParam(defaultValue = "false") boolean force,
             @RequestHeader("Authorization") String authToken
     ) {
         log.info("Requête de génération de pitch reçue");
-        PitchResponseDTO response = pitchService.generatePitch(request, authToken);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        PitchJobDTO job = pitchJobService.submit(request, force, authToken);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/pitchs/jobs/" + job.getId()))
+                .body(job);
     }
 
     /**
-     * Récupérer tous mes pitchs
+     * Générer plusieurs variantes de pitch en une seule requête
+     * POST /api/pitchs/generate-variants?force=false
+     */
+    @PostMapping("/generate-variants")
+    public ResponseEntity<PitchVariantsResponseDTO> generateVariants(
+            @Valid @RequestBody PitchVariantsRequestDTO request,
+            @RequestParam(defaultValue = "false") boolean force,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        log.info("Requête de génération de variantes reçue: {}", request.getTypes());
+        PitchVariantsResponseDTO variants = pitchService.generateVariants(request, force, authToken);
+        return ResponseEntity.status(HttpStatus.CREATED).body(variants);
+    }
+
+    /**
+     * État d'un job de génération
+     * GET /api/pitchs/jobs/{id}
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<PitchJobDTO> getJob(
+            @PathVariable UUID id,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        return ResponseEntity.ok(pitchJobService.getJob(id, authToken));
+    }
+
+    /**
+     * Suivre un job de génération en Server-Sent Events
+     * GET /api/pitchs/jobs/{id}/events
+     */
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(
+            @PathVariable UUID id,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        return pitchJobService.subscribe(id, authToken);
+    }
+
+    /**
+     * Récupérer tous mes pitchs (aperçu; texte complet via GET /api/pitchs/{id})
      * GET /api/pitchs/me
      */
     @GetMapping("/me")
-    public ResponseEntity<List<PitchResponseDTO>> getMyPitchs(
+    public ResponseEntity<List<PitchSummaryDTO>> getMyPitchs(
             @RequestHeader("Authorization") String authToken
     ) {
         log.info("Récupération de tous les pitchs");
-        List<PitchResponseDTO> pitchs = pitchService.getMyPitchs(authToken);
+        List<PitchSummaryDTO> pitchs = pitchService.getMyPitchs(authToken);
         return ResponseEntity.ok(pitchs);
     }
 
@@ -65,7 +116,7 @@ public class PitchController {
      * GET /api/pitchs/me/paginated?page=0&size=10
      */
     @GetMapping("/me/paginated")
-    public ResponseEntity<Page<PitchResponseDTO>> getMyPitchsPaginated(
+    public ResponseEntity<Page<PitchSummaryDTO>> getMyPitchsPaginated(
             @RequestHeader("Authorization") String authToken,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -79,7 +130,7 @@ public class PitchController {
                 : Sort.Direction.DESC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<PitchResponseDTO> pitchsPage = pitchService.getMyPitchsPaginated(authToken, pageable);
+        Page<PitchSummaryDTO> pitchsPage = pitchService.getMyPitchsPaginated(authToken, pageable);
 
         return ResponseEntity.ok(pitchsPage);
     }
@@ -98,6 +149,22 @@ public class PitchController {
         return ResponseEntity.ok(pitch);
     }
 
+    /**
+     * Régénérer une section d'un pitch deck
+     * POST /api/pitchs/{id}/sections/{section}/regenerate?instructions=...
+     */
+    @PostMapping("/{id}/sections/{section}/regenerate")
+    public ResponseEntity<PitchResponseDTO> regenerateSection(
+            @PathVariable UUID id,
+            @PathVariable DeckSection section,
+            @RequestParam(required = false) String instructions,
+            @RequestHeader("Authorization") String authToken
+    ) {
+        log.info("Régénération de la section {} du pitch ID: {}", section, id);
+        PitchResponseDTO pitch = pitchService.regenerateSection(id, section, instructions, authToken);
+        return ResponseEntity.ok(pitch);
+    }
+
     /**
      * Modifier un pitch existant
      * PUT /api/pitchs/{id}
@@ -161,11 +228,11 @@ public class PitchController {
      * GET /api/pitchs/me/favorites
      */
     @GetMapping("/me/favorites")
-    public ResponseEntity<List<PitchResponseDTO>> getFavoritePitchs(
+    public ResponseEntity<List<PitchSummaryDTO>> getFavoritePitchs(
             @RequestHeader("Authorization") String authToken
     ) {
         log.info("Récupération des pitchs favoris");
-        List<PitchResponseDTO> favoritePitchs = pitchService.getFavoritePitchs(authToken);
+        List<PitchSummaryDTO> favoritePitchs = pitchService.getFavoritePitchs(authToken);
         return ResponseEntity.ok(favoritePitchs);
     }
 
@@ -206,7 +273,7 @@ public class PitchController {
                 .isFavorite(false)
                 .build();
 
-        Pitch savedPitch = pitchRepository.save(pitch);
+        Pitch savedPitch = pitchService.createPitch(pitch, null);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponseDTO(savedPitch));
     }
@@ -0,0 +1,30 @@
+package ma.startup.platform.pitchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.pitchservice.model.PitchJobStatus;
+import ma.startup.platform.pitchservice.model.PitchType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PitchJobDTO {
+    private UUID id;
+    private UUID startupId;
+    private PitchType type;
+    private PitchJobStatus status;
+    private Integer attempts;
+    private String error;
+    private UUID pitchId;
+    private PitchResponseDTO pitch;   // Renseigné une fois le job SUCCEEDED
+    private Double similarity;        // Renseigné si un pitch existant quasi identique a été réutilisé
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import ma.startup.platform.pitchservice.model.PitchType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -26,4 +27,5 @@ public class PitchResponseDTO {
     private Boolean isFavorite;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private List<PitchSectionDTO> sections;   // Sections d'un pitch DECK (détail uniquement)
 }
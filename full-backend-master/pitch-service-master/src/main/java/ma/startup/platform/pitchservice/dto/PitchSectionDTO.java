@@ -0,0 +1,20 @@
+package ma.startup.platform.pitchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.pitchservice.model.DeckSection;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PitchSectionDTO {
+    private DeckSection section;
+    private String titre;
+    private String contenu;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package ma.startup.platform.pitchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.pitchservice.model.PitchType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PitchSummaryDTO {
+    private UUID id;
+    private UUID startupId;
+    private PitchType type;
+    private String preview;           // Début du pitch généré; texte complet via GET /api/pitchs/{id}
+    private Boolean truncated;        // true si le pitch généré est plus long que l'aperçu
+    private Integer rating;
+    private Boolean isFavorite;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
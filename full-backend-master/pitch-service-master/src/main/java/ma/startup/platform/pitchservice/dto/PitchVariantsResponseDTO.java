@@ -0,0 +1,20 @@
+package ma.startup.platform.pitchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.startup.platform.pitchservice.model.PitchType;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PitchVariantsResponseDTO {
+    private List<PitchResponseDTO> pitchs;      // Variantes générées et sauvegardées, ou réutilisées
+    private List<PitchType> reused;             // Types servis par un pitch existant quasi identique
+    private Map<PitchType, String> errors;      // Variantes en échec, avec le message d'erreur
+}
@@ -0,0 +1,20 @@
+package ma.startup.platform.pitchservice.exception;
+
+import java.time.Duration;
+
+/**
+ * Appel IA refusé par le gouverneur local (file pleine ou délai d'attente dépassé)
+ */
+public class AIRateLimitException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AIRateLimitException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
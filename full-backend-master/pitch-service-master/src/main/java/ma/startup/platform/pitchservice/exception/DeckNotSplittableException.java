@@ -0,0 +1,13 @@
+package ma.startup.platform.pitchservice.exception;
+
+import java.util.UUID;
+
+/**
+ * Section demandée pour un pitch deck antérieur aux sections dont le texte ne peut pas être découpé
+ */
+public class DeckNotSplittableException extends RuntimeException {
+    public DeckNotSplittableException(UUID pitchId) {
+        super("Le pitch deck " + pitchId + " a été généré avant le découpage en sections et son texte ne suit pas "
+                + "les titres de sections attendus : régénérez le deck complet (PUT /api/pitchs/" + pitchId + ")");
+    }
+}
@@ -0,0 +1,9 @@
+package ma.startup.platform.pitchservice.exception;
+
+import java.util.UUID;
+
+public class PitchJobNotFoundException extends RuntimeException {
+    public PitchJobNotFoundException(UUID jobId) {
+        super("Job de génération non trouvé avec l'ID: " + jobId);
+    }
+}
@@ -0,0 +1,12 @@
+package ma.startup.platform.pitchservice.exception;
+
+import java.util.UUID;
+
+/**
+ * Opération sur les sections demandée pour un pitch qui n'est pas de type DECK
+ */
+public class PitchNotDeckException extends RuntimeException {
+    public PitchNotDeckException(UUID pitchId) {
+        super("Le pitch " + pitchId + " n'est pas un pitch deck");
+    }
+}
@@ -0,0 +1,31 @@
+package ma.startup.platform.pitchservice.model;
+
+/**
+ * Sections d'un pitch deck, dans l'ordre de présentation
+ */
+public enum DeckSection {
+    PROBLEME("Problème", "Décris le problème et son impact pour la cible."),
+    SOLUTION("Solution", "Présente la solution et comment elle résout le problème."),
+    MARCHE("Marché", "Estime la taille et la croissance du marché visé."),
+    MODELE_ECONOMIQUE("Modèle économique", "Explique comment la startup gagne de l'argent."),
+    TRACTION("Traction", "Présente les résultats obtenus et les prochaines étapes clés."),
+    CONCURRENCE("Concurrence", "Positionne la startup face aux alternatives existantes."),
+    EQUIPE("Équipe", "Présente les forces de l'équipe pour exécuter ce projet."),
+    DEMANDE("Demande", "Précise le financement recherché et son utilisation.");
+
+    private final String titre;
+    private final String consigne;
+
+    DeckSection(String titre, String consigne) {
+        this.titre = titre;
+        this.consigne = consigne;
+    }
+
+    public String getTitre() {
+        return titre;
+    }
+
+    public String getConsigne() {
+        return consigne;
+    }
+}
@@ -0,0 +1,111 @@
+package ma.startup.platform.pitchservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Demande de génération de pitch traitée en arrière-plan.
+ * Les informations de la startup utiles au prompt sont copiées à la création,
+ * pour que le worker n'ait pas besoin du token de l'utilisateur.
+ */
+@Entity
+@Table(name = "pitch_jobs", schema = "pitch_schema",
+        indexes = @Index(name = "idx_pitch_jobs_status_created", columnList = "status, created_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PitchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "startup_id", nullable = false)
+    private UUID startupId;
+
+    @Column(name = "startup_nom")
+    private String startupNom;
+
+    @Column(name = "startup_secteur", length = 100)
+    private String startupSecteur;
+
+    @Column(nullable = false, length = 500)
+    private String probleme;
+
+    @Column(nullable = false, length = 500)
+    private String solution;
+
+    @Column(nullable = false, length = 300)
+    private String cible;
+
+    @Column(nullable = false, length = 300)
+    private String avantage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private PitchType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PitchJobStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "pitch_id")
+    private UUID pitchId;
+
+    // "Cache-Control: no-cache" de la requête d'origine, appliqué par le worker
+    @Column(name = "bypass_cache")
+    private Boolean bypassCache;
+
+    // Similarité estimée quand un pitch existant quasi identique a été réutilisé
+    @Column
+    private Double similarity;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.status == null) {
+            this.status = PitchJobStatus.QUEUED;
+        }
+        if (this.attempts == null) {
+            this.attempts = 0;
+        }
+        if (this.type == null) {
+            this.type = PitchType.ELEVATOR;
+        }
+        if (this.bypassCache == null) {
+            this.bypassCache = false;
+        }
+    }
+
+    public boolean isFinished() {
+        return status == PitchJobStatus.SUCCEEDED || status == PitchJobStatus.FAILED;
+    }
+}
@@ -0,0 +1,48 @@
+package ma.startup.platform.pitchservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Section d'un pitch de type DECK, générée et régénérable séparément.
+ * Le texte complet du pitch (pitch_genere) est l'assemblage de ses sections.
+ */
+@Entity
+@Table(name = "pitch_sections", schema = "pitch_schema",
+        uniqueConstraints = @UniqueConstraint(name = "uk_pitch_sections_pitch_section", columnNames = {"pitch_id", "section"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PitchSection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "pitch_id", nullable = false)
+    private UUID pitchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private DeckSection section;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String contenu;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,51 @@
+package ma.startup.platform.pitchservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Statistiques matérialisées des pitchs d'une startup, tenues à jour dans la même transaction
+ * que chaque création, suppression, favori ou notation
+ */
+@Entity
+@Table(name = "pitch_stats", schema = "pitch_schema")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PitchStats {
+
+    @Id
+    @Column(name = "startup_id")
+    private UUID startupId;
+
+    @Column(name = "total_pitchs", nullable = false)
+    private long totalPitchs;
+
+    @Column(name = "favorite_pitchs", nullable = false)
+    private long favoritePitchs;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "elevator_count", nullable = false)
+    private long elevatorCount;
+
+    @Column(name = "deck_count", nullable = false)
+    private long deckCount;
+
+    @Column(name = "value_prop_count", nullable = false)
+    private long valuePropCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -29,6 +29,11 @@ public class PitchTemplate {
     @Column(length = 100)
     private String secteur;
 
+    // Type de pitch visé; null = template valable pour tous les types du secteur
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private PitchType type;
+
     @Column(name = "is_active")
     private Boolean isActive = true;
 
@@ -0,0 +1,87 @@
+package ma.startup.platform.pitchservice.repository;
+
+import ma.startup.platform.pitchservice.model.PitchJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PitchJobRepository extends JpaRepository<PitchJob, UUID> {
+
+    // Trouver un job d'une startup
+    Optional<PitchJob> findByIdAndStartupId(UUID id, UUID startupId);
+
+    // Plus anciens jobs en attente, pour le poller
+    @Query("SELECT j.id FROM PitchJob j WHERE j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.QUEUED " +
+            "ORDER BY j.createdAt")
+    List<UUID> findQueuedIds(Pageable pageable);
+
+    // Réserver un job: une seule instance peut le passer de QUEUED à RUNNING
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PitchJob j SET j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.RUNNING, " +
+            "j.attempts = j.attempts + 1, j.startedAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.QUEUED")
+    int claim(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    // Terminer un job, seulement s'il est encore dans la tentative réservée par ce worker
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PitchJob j SET j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.SUCCEEDED, " +
+            "j.pitchId = :pitchId, j.error = null, j.finishedAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.RUNNING " +
+            "AND j.attempts = :attempt")
+    int succeed(@Param("id") UUID id, @Param("attempt") int attempt,
+                @Param("pitchId") UUID pitchId, @Param("now") LocalDateTime now);
+
+    // Abandonner un job après l'échec de la tentative réservée
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PitchJob j SET j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.FAILED, " +
+            "j.error = :error, j.finishedAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.RUNNING " +
+            "AND j.attempts = :attempt")
+    int fail(@Param("id") UUID id, @Param("attempt") int attempt,
+             @Param("error") String error, @Param("now") LocalDateTime now);
+
+    // Remettre en file après l'échec de la tentative réservée ; refund rend la tentative
+    // quand la génération n'a pas été tentée (refus du gouverneur IA)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PitchJob j SET j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.QUEUED, " +
+            "j.attempts = j.attempts - :refund, j.error = :error, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.RUNNING " +
+            "AND j.attempts = :attempt")
+    int requeue(@Param("id") UUID id, @Param("attempt") int attempt, @Param("refund") int refund,
+                @Param("error") String error, @Param("now") LocalDateTime now);
+
+    // Statut des jobs suivis en SSE, pour ceux terminés par une autre instance
+    @Query("SELECT j FROM PitchJob j WHERE j.id IN :ids " +
+            "AND j.status IN (ma.startup.platform.pitchservice.model.PitchJobStatus.SUCCEEDED, " +
+            "ma.startup.platform.pitchservice.model.PitchJobStatus.FAILED)")
+    List<PitchJob> findFinishedByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Remettre en file les jobs abandonnés par une instance arrêtée en cours de génération
+    @Modifying
+    @Query("UPDATE PitchJob j SET j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.QUEUED, j.updatedAt = :now " +
+            "WHERE j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.RUNNING " +
+            "AND j.startedAt < :staleBefore AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore,
+                     @Param("maxAttempts") int maxAttempts,
+                     @Param("now") LocalDateTime now);
+
+    // Abandonner les jobs bloqués qui ont épuisé leurs tentatives
+    @Modifying
+    @Query("UPDATE PitchJob j SET j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.FAILED, " +
+            "j.error = 'Génération interrompue', j.finishedAt = :now, j.updatedAt = :now " +
+            "WHERE j.status = ma.startup.platform.pitchservice.model.PitchJobStatus.RUNNING " +
+            "AND j.startedAt < :staleBefore AND j.attempts >= :maxAttempts")
+    int failStale(@Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("maxAttempts") int maxAttempts,
+                  @Param("now") LocalDateTime now);
+}
@@ -4,7 +4,9 @@ package ma.startup.platform.pitchservice.repository;
 import feign.Param;
 import ma.startup.platform.pitchservice.model.Pitch;
 import ma.startup.platform.pitchservice.model.PitchType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -35,13 +37,41 @@ public interface PitchRepository extends JpaRepository<Pitch, UUID> {
     // Trouver un pitch spécifique d'une startup
     Optional<Pitch> findByIdAndStartupId(UUID id, UUID startupId);
 
+    // Pitch d'une startup verrouillé jusqu'à la fin de la transaction (mises à jour + statistiques)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pitch p WHERE p.id = :id AND p.startupId = :startupId")
+    Optional<Pitch> findByIdAndStartupIdForUpdate(@Param("id") UUID id, @Param("startupId") UUID startupId);
+
     // Pagination des pitchs d'une startup
     Page<Pitch> findByStartupId(UUID startupId, Pageable pageable);
 
+    // Listes allégées: pitch_genere tronqué côté base à previewLength caractères
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.startupId AS startupId, p.type AS type, "
+            + "SUBSTRING(p.pitchGenere, 1, :previewLength) AS preview, p.rating AS rating, "
+            + "p.isFavorite AS isFavorite, p.createdAt AS createdAt, p.updatedAt AS updatedAt FROM Pitch p ";
+
+    @Query(SUMMARY_SELECT + "WHERE p.startupId = :startupId ORDER BY p.createdAt DESC")
+    List<PitchSummary> findSummariesByStartupId(@Param("startupId") UUID startupId,
+                                                @Param("previewLength") int previewLength);
+
+    @Query(SUMMARY_SELECT + "WHERE p.startupId = :startupId AND p.isFavorite = true ORDER BY p.createdAt DESC")
+    List<PitchSummary> findFavoriteSummariesByStartupId(@Param("startupId") UUID startupId,
+                                                        @Param("previewLength") int previewLength);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.startupId = :startupId",
+            countQuery = "SELECT COUNT(p) FROM Pitch p WHERE p.startupId = :startupId")
+    Page<PitchSummary> findSummariesByStartupId(@Param("startupId") UUID startupId,
+                                                @Param("previewLength") int previewLength,
+                                                Pageable pageable);
+
     // Statistiques par type
     @Query("SELECT p.type, COUNT(p) FROM Pitch p WHERE p.startupId = :startupId GROUP BY p.type")
     List<Object[]> countByTypeForStartup(@Param("startupId") UUID startupId);
 
+    // Champs d'entrée des pitchs d'une startup, sans le texte généré (index de similarité)
+    @Query("SELECT p.id, p.type, p.probleme, p.solution, p.cible, p.avantage FROM Pitch p WHERE p.startupId = :startupId")
+    List<Object[]> findInputsByStartupId(@Param("startupId") UUID startupId);
+
     // Moyenne des ratings pour une startup
     @Query("SELECT AVG(p.rating) FROM Pitch p WHERE p.startupId = :startupId AND p.rating IS NOT NULL")
     Double getAverageRatingForStartup(@Param("startupId") UUID startupId);
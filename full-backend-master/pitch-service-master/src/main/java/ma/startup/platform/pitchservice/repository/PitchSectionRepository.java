@@ -0,0 +1,23 @@
+package ma.startup.platform.pitchservice.repository;
+
+import ma.startup.platform.pitchservice.model.PitchSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PitchSectionRepository extends JpaRepository<PitchSection, UUID> {
+
+    // Sections d'un pitch deck
+    List<PitchSection> findByPitchId(UUID pitchId);
+
+    // Supprimer les sections d'un pitch (suppression ou régénération complète)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PitchSection s WHERE s.pitchId = :pitchId")
+    int deleteByPitchId(@Param("pitchId") UUID pitchId);
+}
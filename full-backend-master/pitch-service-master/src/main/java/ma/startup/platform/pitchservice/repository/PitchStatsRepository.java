@@ -0,0 +1,54 @@
+package ma.startup.platform.pitchservice.repository;
+
+import ma.startup.platform.pitchservice.model.PitchStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface PitchStatsRepository extends JpaRepository<PitchStats, UUID> {
+
+    /**
+     * Appliquer une variation aux statistiques d'une startup.
+     *
+     * Si la ligne n'existe pas encore, elle est calculée depuis la table pitchs (qui contient déjà
+     * la modification de la transaction courante) ; sinon la variation est ajoutée en place.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO pitch_schema.pitch_stats (startup_id, total_pitchs, favorite_pitchs, rating_sum, rating_count,
+                                                  elevator_count, deck_count, value_prop_count, updated_at)
+            SELECT :startupId,
+                   COUNT(p.id),
+                   COUNT(p.id) FILTER (WHERE p.is_favorite),
+                   COALESCE(SUM(p.rating), 0),
+                   COUNT(p.rating),
+                   COUNT(p.id) FILTER (WHERE p.type = 'ELEVATOR'),
+                   COUNT(p.id) FILTER (WHERE p.type = 'DECK'),
+                   COUNT(p.id) FILTER (WHERE p.type = 'VALUE_PROP'),
+                   now()
+            FROM pitch_schema.pitchs p
+            WHERE p.startup_id = :startupId
+            ON CONFLICT (startup_id) DO UPDATE SET
+                total_pitchs = pitch_stats.total_pitchs + :total,
+                favorite_pitchs = pitch_stats.favorite_pitchs + :favorites,
+                rating_sum = pitch_stats.rating_sum + :ratingSum,
+                rating_count = pitch_stats.rating_count + :ratingCount,
+                elevator_count = pitch_stats.elevator_count + :elevator,
+                deck_count = pitch_stats.deck_count + :deck,
+                value_prop_count = pitch_stats.value_prop_count + :valueProp,
+                updated_at = now()
+            """, nativeQuery = true)
+    int applyDelta(@Param("startupId") UUID startupId,
+                   @Param("total") long total,
+                   @Param("favorites") long favorites,
+                   @Param("ratingSum") long ratingSum,
+                   @Param("ratingCount") long ratingCount,
+                   @Param("elevator") long elevator,
+                   @Param("deck") long deck,
+                   @Param("valueProp") long valueProp);
+}
@@ -0,0 +1,20 @@
+package ma.startup.platform.pitchservice.repository;
+
+import ma.startup.platform.pitchservice.model.PitchType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection des listes de pitchs : métadonnées et début du texte généré uniquement
+ */
+public interface PitchSummary {
+    UUID getId();
+    UUID getStartupId();
+    PitchType getType();
+    String getPreview();
+    Integer getRating();
+    Boolean getIsFavorite();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -2,6 +2,7 @@ package ma.startup.platform.pitchservice.repository;
 
 import ma.startup.platform.pitchservice.model.PitchTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +20,11 @@ public interface PitchTemplateRepository extends JpaRepository<PitchTemplate, UU
 
     // Trouver template par nom
     Optional<PitchTemplate> findByNomAndIsActiveTrue(String nom);
+
+    // Empreinte du contenu des templates actifs, pour détecter un changement (y compris une édition SQL)
+    @Query(value = "SELECT md5(COALESCE(string_agg("
+            + "concat_ws('|', t.id, t.nom, COALESCE(t.secteur, ''), COALESCE(t.type, ''), md5(t.prompt)), "
+            + "',' ORDER BY t.id), '')) "
+            + "FROM pitch_schema.pitch_templates t WHERE t.is_active", nativeQuery = true)
+    String findActiveFingerprint();
 }
@@ -0,0 +1,382 @@
+package ma.startup.platform.pitchservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.exception.AIRateLimitException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Gouverneur global des appels aux providers IA.
+ *
+ * Un appel attend dans une file bornée jusqu'à obtenir une place dans la limite de concurrence
+ * et un crédit dans les seaux requêtes/minute et tokens/minute. S'il ne l'obtient pas avant
+ * {@code max-wait}, ou si la file est pleine, il est refusé avec une {@link AIRateLimitException}
+ * (HTTP 429) au lieu d'aller déclencher des 429 chez le provider.
+ *
+ * Les tokens d'un appel sont débités sur une estimation avant l'envoi, puis régularisés sur
+ * l'usage estimé de la réponse reçue : une réponse plus courte que prévu rend la différence.
+ *
+ * Une génération composée de plusieurs appels (les sections d'un deck) peut réserver d'un bloc
+ * les crédits de tous ses appels avec {@link #reserve} : elle est alors acceptée ou refusée en
+ * entier, au lieu d'échouer sur une partie de ses appels une fois les premiers envoyés.
+ */
+@Service
+@Slf4j
+public class AIGovernor {
+
+    private final boolean enabled;
+    private final Semaphore slots;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+
+    private static final ThreadLocal<Reservation> PREPAID = new ThreadLocal<>();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public AIGovernor(MeterRegistry meterRegistry,
+                      @Value("${ai.governor.enabled:true}") boolean enabled,
+                      @Value("${ai.governor.max-concurrent:8}") int maxConcurrent,
+                      @Value("${ai.governor.max-queue:50}") int maxQueue,
+                      @Value("${ai.governor.max-wait:10s}") Duration maxWait,
+                      @Value("${ai.governor.requests-per-minute:30}") int requestsPerMinute,
+                      @Value("${ai.governor.tokens-per-minute:6000}") int tokensPerMinute) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.requestBucket = new TokenBucket(requestsPerMinute);
+        this.tokenBucket = new TokenBucket(tokensPerMinute);
+
+        Gauge.builder("pitch.ai.governor.queue", waiting, AtomicInteger::get)
+                .description("Appels IA en attente dans le gouverneur")
+                .register(meterRegistry);
+        Gauge.builder("pitch.ai.governor.active", slots, s -> this.maxConcurrent - s.availablePermits())
+                .description("Appels IA en cours")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("pitch.ai.governor.wait")
+                .description("Attente avant l'envoi d'un appel IA")
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("pitch.ai.governor.rejected")
+                .description("Appels IA refusés par le gouverneur")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("pitch.ai.governor.rejected")
+                .description("Appels IA refusés par le gouverneur")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exécuter un appel au provider une fois les limites respectées
+     *
+     * @param estimatedTokens tokens consommés estimés (prompt + réponse), pour le seau tokens/minute
+     */
+    public <T> T execute(int estimatedTokens, Supplier<T> call) {
+        return execute(estimatedTokens, call, null);
+    }
+
+    /**
+     * Idem, en régularisant le seau tokens/minute sur {@code usedTokens} une fois la réponse reçue
+     */
+    public <T> T execute(int estimatedTokens, Supplier<T> call, ToIntFunction<T> usedTokens) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        Reservation prepaid = PREPAID.get();
+        if (prepaid != null && prepaid.take()) {
+            return settle(prepaid.tokensPerCall(), executePrepaid(prepaid, call), usedTokens);
+        }
+
+        enterQueue();
+
+        long start = System.nanoTime();
+        long deadline = start + maxWait.toNanos();
+        boolean acquired = false;
+        try {
+            acquired = reserve(estimatedTokens, deadline);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejectedTimeout.increment();
+            throw new AIRateLimitException("Capacité IA saturée, réessayez dans quelques instants",
+                    Duration.ofSeconds(Math.max(1, requestBucket.secondsUntil(1))));
+        }
+
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            slots.release();
+        }
+        return settle(Math.min(Math.max(1, estimatedTokens), tokenBucket.capacity()), result, usedTokens);
+    }
+
+    /**
+     * Rendre les tokens débités en trop pour cet appel, ou débiter le dépassement
+     */
+    private <T> T settle(int chargedTokens, T result, ToIntFunction<T> usedTokens) {
+        if (usedTokens != null) {
+            int difference = chargedTokens - usedTokens.applyAsInt(result);
+            if (difference > 0) {
+                tokenBucket.refund(difference);
+            } else if (difference < 0) {
+                tokenBucket.charge(-difference);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Réserver d'un bloc les crédits de {@code requests} appels totalisant {@code estimatedTokens},
+     * depuis la file bornée et sans attendre plus de {@code max-wait} ; les appels faits dans
+     * {@link #prepaid} les consomment.
+     * Les crédits non utilisés sont rendus à la fermeture.
+     *
+     * @throws AIRateLimitException si le bloc ne peut pas être obtenu à temps
+     */
+    public Reservation reserve(int requests, int estimatedTokens) {
+        if (!enabled) {
+            return new Reservation(this, 0, 0);
+        }
+        int count = Math.min(Math.max(1, requests), requestBucket.capacity());
+        int tokens = Math.min(Math.max(1, estimatedTokens), tokenBucket.capacity());
+
+        // Un deck attend dans la même file bornée que les appels isolés
+        enterQueue();
+        try {
+            long start = System.nanoTime();
+            long budget = maxWait.toNanos();
+            long requestWait = requestBucket.reserve(count, start, budget);
+            long tokenWait = requestWait < 0 ? -1 : tokenBucket.reserve(tokens, start, budget);
+            if (tokenWait < 0) {
+                if (requestWait >= 0) {
+                    requestBucket.refund(count);
+                }
+                rejectedTimeout.increment();
+                throw new AIRateLimitException("Capacité IA insuffisante pour cette génération, réessayez dans quelques instants",
+                        Duration.ofSeconds(Math.max(1, Math.max(requestBucket.secondsUntil(count), tokenBucket.secondsUntil(tokens)))));
+            }
+            try {
+                long pause = Math.max(requestWait, tokenWait);
+                if (pause > 0) {
+                    TimeUnit.NANOSECONDS.sleep(pause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                requestBucket.refund(count);
+                tokenBucket.refund(tokens);
+                throw new AIRateLimitException("Réservation IA interrompue", maxWait);
+            } finally {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return new Reservation(this, count, tokens);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Prendre une place dans la file d'attente, ou refuser si elle est pleine ;
+     * l'appelant la libère une fois ses crédits obtenus ou refusés
+     */
+    private void enterQueue() {
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw new AIRateLimitException("Trop de générations IA en attente, réessayez dans quelques instants", maxWait);
+        }
+    }
+
+    /**
+     * Exécuter {@code task} (éventuellement sur un autre thread) en imputant ses appels à {@code reservation}
+     */
+    public Runnable prepaid(Reservation reservation, Runnable task) {
+        return () -> {
+            PREPAID.set(reservation);
+            try {
+                task.run();
+            } finally {
+                PREPAID.remove();
+            }
+        };
+    }
+
+    /**
+     * Appel déjà payé par une réservation : seule la place de concurrence reste à obtenir
+     */
+    private <T> T executePrepaid(Reservation reservation, Supplier<T> call) {
+        boolean acquired = false;
+        long start = System.nanoTime();
+        try {
+            acquired = slots.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            reservation.giveBack();
+            rejectedTimeout.increment();
+            throw new AIRateLimitException("Capacité IA saturée, réessayez dans quelques instants", maxWait);
+        }
+        try {
+            return call.get();
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Crédits réservés d'avance pour un groupe d'appels
+     */
+    public static final class Reservation implements AutoCloseable {
+        private final AIGovernor governor;
+        private final int requests;
+        private final int tokens;
+        private final AtomicInteger remaining;
+
+        private Reservation(AIGovernor governor, int requests, int tokens) {
+            this.governor = governor;
+            this.requests = requests;
+            this.tokens = tokens;
+            this.remaining = new AtomicInteger(requests);
+        }
+
+        private boolean take() {
+            return remaining.getAndUpdate(left -> Math.max(0, left - 1)) > 0;
+        }
+
+        private void giveBack() {
+            remaining.incrementAndGet();
+        }
+
+        private int tokensPerCall() {
+            return requests == 0 ? 0 : tokens / requests;
+        }
+
+        /**
+         * Rendre les crédits des appels qui n'ont pas eu lieu
+         */
+        @Override
+        public void close() {
+            int unused = remaining.getAndSet(0);
+            if (unused > 0) {
+                governor.requestBucket.refund(unused);
+                governor.tokenBucket.refund((int) ((long) tokens * unused / requests));
+            }
+        }
+    }
+
+    /**
+     * Prendre les crédits de débit puis une place de concurrence avant {@code deadline} ;
+     * les crédits sont rendus si la place n'est pas obtenue à temps.
+     */
+    private boolean reserve(int estimatedTokens, long deadline) {
+        int tokens = Math.min(Math.max(1, estimatedTokens), tokenBucket.capacity());
+        long now = System.nanoTime();
+        long requestWait = requestBucket.reserve(1, now, deadline - now);
+        if (requestWait < 0) {
+            return false;
+        }
+        long tokenWait = tokenBucket.reserve(tokens, now, deadline - now);
+        if (tokenWait < 0) {
+            requestBucket.refund(1);
+            return false;
+        }
+
+        try {
+            long pause = Math.max(requestWait, tokenWait);
+            if (pause > 0) {
+                TimeUnit.NANOSECONDS.sleep(pause);
+            }
+            if (slots.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        requestBucket.refund(1);
+        tokenBucket.refund(tokens);
+        return false;
+    }
+
+    /**
+     * Seau à jetons rempli en continu de {@code perMinute} par minute, de capacité {@code perMinute}.
+     * Une réservation peut rendre le solde négatif : l'appelant attend alors le temps de remboursement,
+     * ce qui sert les demandes dans l'ordre d'arrivée.
+     */
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double available;
+        private long lastRefill;
+
+        private TokenBucket(int perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.refillPerNano = capacity / (double) TimeUnit.MINUTES.toNanos(1);
+            this.available = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        /**
+         * @return l'attente en nanosecondes avant de pouvoir consommer, ou -1 si elle dépasse {@code maxWaitNanos}
+         */
+        synchronized long reserve(int amount, long now, long maxWaitNanos) {
+            refill(now);
+            double missing = amount - available;
+            long wait = missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerNano);
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            available -= amount;
+            return wait;
+        }
+
+        synchronized void refund(int amount) {
+            available = Math.min(capacity, available + amount);
+        }
+
+        /**
+         * Débit sans attente (usage constaté après coup) ; les demandes suivantes attendent d'autant
+         */
+        synchronized void charge(int amount) {
+            available -= amount;
+        }
+
+        synchronized long secondsUntil(int amount) {
+            refill(System.nanoTime());
+            double missing = amount - available;
+            return missing <= 0 ? 0 : TimeUnit.NANOSECONDS.toSeconds((long) Math.ceil(missing / refillPerNano));
+        }
+
+        private void refill(long now) {
+            available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ma.startup.platform.pitchservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.model.AIResponseCacheEntry;
+import ma.startup.platform.pitchservice.repository.AIResponseCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Cache des réponses IA adressé par contenu.
+ *
+ * La clé est le SHA-256 de (type de requête, modèle, température, max_tokens, prompt normalisé).
+ * Un premier niveau en mémoire est placé devant la table pitch_schema.ai_response_cache, purgée
+ * selon le TTL. Une requête HTTP portant "Cache-Control: no-cache" contourne la lecture du cache
+ * mais rafraîchit l'entrée avec la nouvelle réponse.
+ *
+ * Les générations en cours sont suivies hors de Caffeine : l'appel au modèle et l'écriture en
+ * base ne s'exécutent jamais sous le verrou d'une entrée du cache mémoire.
+ */
+@Service
+@Slf4j
+public class AIResponseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final ThreadLocal<Boolean> BYPASS = new ThreadLocal<>();
+
+    private final AIResponseCacheRepository repository;
+    private final Cache<String, Cached> memory;
+    private final ConcurrentHashMap<String, CompletableFuture<Cached>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final boolean enabled;
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter bypasses;
+
+    public AIResponseCache(AIResponseCacheRepository repository,
+                           MeterRegistry meterRegistry,
+                           @Value("${pitch.ai-cache.enabled:true}") boolean enabled,
+                           @Value("${pitch.ai-cache.ttl:24h}") Duration ttl,
+                           @Value("${pitch.ai-cache.memory-size:1000}") long memorySize) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(memorySize)
+                .expireAfter(Expiry.creating((String key, Cached value) ->
+                        Duration.between(LocalDateTime.now(), value.expiresAt())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "pitch.ai.responses");
+
+        this.memoryHits = lookupCounter(meterRegistry, "memory_hit");
+        this.databaseHits = lookupCounter(meterRegistry, "database_hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.coalesced = lookupCounter(meterRegistry, "coalesced");
+        this.bypasses = lookupCounter(meterRegistry, "bypass");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pitch.ai.cache.lookups")
+                .description("Recherches dans le cache des réponses IA")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Clé de cache d'une requête au modèle
+     */
+    public String key(String kind, String model, double temperature, int maxTokens, String prompt) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(prompt, Normalizer.Form.NFC)).replaceAll(" ").trim();
+        String material = kind + '\u0000' + model + '\u0000' + temperature + '\u0000' + maxTokens + '\u0000' + normalized;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Réponse en cache pour {@code key}, ou celle de {@code generator} qui est alors mise en cache.
+     * Les appels concurrents pour une même clé partagent une seule génération.
+     */
+    public String getOrGenerate(String key, String kind, String model, Supplier<String> generator) {
+        if (!enabled) {
+            return generator.get();
+        }
+        if (isBypassed()) {
+            bypasses.increment();
+            String response = generator.get();
+            put(key, kind, model, response);
+            return response;
+        }
+
+        Cached cached = memory.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached.response();
+        }
+
+        CompletableFuture<Cached> generation = new CompletableFuture<>();
+        CompletableFuture<Cached> pending = inFlight.putIfAbsent(key, generation);
+        if (pending != null) {
+            // Une génération identique est en cours : attendre son résultat
+            coalesced.increment();
+            return await(pending).response();
+        }
+        try {
+            // L'entrée a pu être publiée entre la lecture et l'inscription
+            cached = memory.getIfPresent(key);
+            if (cached == null) {
+                cached = findInDatabase(key).orElseGet(() -> {
+                    misses.increment();
+                    return store(key, kind, model, generator.get());
+                });
+                memory.put(key, cached);
+            }
+            generation.complete(cached);
+            return cached.response();
+        } catch (RuntimeException e) {
+            generation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, generation);
+        }
+    }
+
+    private static Cached await(CompletableFuture<Cached> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lecture seule, pour les appels en streaming qui produisent la réponse eux-mêmes
+     */
+    public Optional<String> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (isBypassed()) {
+            bypasses.increment();
+            return Optional.empty();
+        }
+
+        Cached cached = memory.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached.response());
+        }
+        Optional<Cached> stored = findInDatabase(key);
+        stored.ifPresentOrElse(value -> memory.put(key, value), misses::increment);
+        return stored.map(Cached::response);
+    }
+
+    public void put(String key, String kind, String model, String response) {
+        if (enabled && response != null && !response.isBlank()) {
+            memory.put(key, store(key, kind, model, response));
+        }
+    }
+
+    /**
+     * La requête HTTP courante (ou un traitement lancé par {@link #bypassing}) demande-t-elle
+     * une réponse fraîche ?
+     */
+    public boolean isBypassed() {
+        if (Boolean.TRUE.equals(BYPASS.get())) {
+            return true;
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+            return cacheControl != null
+                    && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+        }
+        return false;
+    }
+
+    /**
+     * Exécuter {@code task} sur un autre thread en conservant la demande de contournement
+     */
+    public Runnable bypassing(boolean bypass, Runnable task) {
+        if (!bypass) {
+            return task;
+        }
+        return () -> {
+            BYPASS.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                BYPASS.remove();
+            }
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${pitch.ai-cache.purge-interval:1h}")
+    public void purgeExpired() {
+        try {
+            int purged = repository.deleteExpired(LocalDateTime.now());
+            if (purged > 0) {
+                log.info("Cache IA: {} entrées expirées supprimées", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Purge du cache IA impossible: {}", e.getMessage());
+        }
+    }
+
+    private Optional<Cached> findInDatabase(String key) {
+        try {
+            Optional<Cached> stored = repository.findByCacheKeyAndExpiresAtAfter(key, LocalDateTime.now())
+                    .map(entry -> new Cached(entry.getResponse(), entry.getExpiresAt()));
+            stored.ifPresent(value -> databaseHits.increment());
+            return stored;
+        } catch (Exception e) {
+            log.warn("Lecture du cache IA impossible: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Cached store(String key, String kind, String model, String response) {
+        LocalDateTime now = LocalDateTime.now();
+        Cached cached = new Cached(response, now.plus(ttl));
+        try {
+            repository.save(AIResponseCacheEntry.builder()
+                    .cacheKey(key)
+                    .kind(kind)
+                    .model(model)
+                    .response(response)
+                    .createdAt(now)
+                    .expiresAt(cached.expiresAt())
+                    .build());
+        } catch (Exception e) {
+            // Le niveau mémoire suffit à servir les répétitions proches
+            log.warn("Écriture du cache IA impossible: {}", e.getMessage());
+        }
+        return cached;
+    }
+
+    private record Cached(String response, LocalDateTime expiresAt) {
+    }
+}
@@ -1,8 +1,11 @@
 package ma.startup.platform.pitchservice.service;
 
 import ma.startup.platform.pitchservice.dto.StartupDTO;
+import ma.startup.platform.pitchservice.model.DeckSection;
 import ma.startup.platform.pitchservice.model.PitchType;
 
+import java.util.function.Consumer;
+
 /**
  * Interface générique pour les services d'IA
  * Permet de changer facilement de provider (Gemini -> HuggingFace -> OpenAI, etc.)
@@ -29,6 +32,25 @@ public interface AIService {
             PitchType type
     );
 
+    /**
+     * Génère une seule section d'un pitch deck
+     *
+     * @param section La section à générer
+     * @param contenuActuel Le contenu actuel de la section à réécrire, ou null pour une première génération
+     * @param instructions Consignes supplémentaires de l'utilisateur, ou null
+     * @return Le contenu de la section
+     */
+    String generateDeckSection(
+            String probleme,
+            String solution,
+            String cible,
+            String avantage,
+            StartupDTO startup,
+            DeckSection section,
+            String contenuActuel,
+            String instructions
+    );
+
     /**
      * Améliore un pitch existant selon des suggestions
      *
@@ -45,4 +67,42 @@ public interface AIService {
      * @return Les suggestions d'amélioration
      */
     String generateSuggestions(String pitch);
+
+    /**
+     * Variante streaming de {@link #generatePitch}: chaque fragment de texte est transmis à
+     * {@code onToken} dès sa réception. Par défaut, le texte complet est transmis en une fois.
+     *
+     * @return Le pitch complet
+     */
+    default String streamPitch(
+            String probleme,
+            String solution,
+            String cible,
+            String avantage,
+            StartupDTO startup,
+            PitchType type,
+            Consumer<String> onToken
+    ) {
+        String pitch = generatePitch(probleme, solution, cible, avantage, startup, type);
+        onToken.accept(pitch);
+        return pitch;
+    }
+
+    /**
+     * Variante streaming de {@link #improvePitch}
+     */
+    default String streamImprovePitch(String pitchExistant, String suggestions, Consumer<String> onToken) {
+        String pitch = improvePitch(pitchExistant, suggestions);
+        onToken.accept(pitch);
+        return pitch;
+    }
+
+    /**
+     * Variante streaming de {@link #generateSuggestions}
+     */
+    default String streamSuggestions(String pitch, Consumer<String> onToken) {
+        String suggestions = generateSuggestions(pitch);
+        onToken.accept(suggestions);
+        return suggestions;
+    }
 }
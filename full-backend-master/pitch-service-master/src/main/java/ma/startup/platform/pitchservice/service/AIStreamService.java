@@ -0,0 +1,30 @@
+package ma.startup.platform.pitchservice.service;
+
+import ma.startup.platform.pitchservice.dto.PitchRequestDTO;
+import ma.startup.platform.pitchservice.dto.StartupDTO;
+import ma.startup.platform.pitchservice.model.PitchType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface AIStreamService {
+
+    /**
+     * Générer un pitch en streaming ; le pitch est sauvegardé à la fin du flux
+     */
+    SseEmitter streamPitch(PitchRequestDTO request, StartupDTO startup, PitchType type);
+
+    /**
+     * Générer un pitch DECK section par section ; chaque section est transmise dans l'ordre
+     * du deck dès qu'elle est prête, puis le pitch et ses sections sont sauvegardés
+     */
+    SseEmitter streamDeck(PitchRequestDTO request, StartupDTO startup);
+
+    /**
+     * Améliorer un pitch en streaming
+     */
+    SseEmitter streamImprovePitch(String pitch, String suggestions);
+
+    /**
+     * Générer des suggestions en streaming
+     */
+    SseEmitter streamSuggestions(String pitch);
+}
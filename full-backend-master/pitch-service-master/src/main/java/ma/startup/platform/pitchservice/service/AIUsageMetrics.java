@@ -0,0 +1,71 @@
+package ma.startup.platform.pitchservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.service.provider.AICompletionRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Usage réel des tokens renvoyé par les providers, comparé à l'estimation locale.
+ *
+ * Métriques : pitch.ai.tokens.prompt{source=estimated|actual}, pitch.ai.tokens.completion,
+ * pitch.ai.tokens.estimate.ratio (réel / estimé) et pitch.ai.completions.truncated quand la
+ * réponse a été coupée par max_tokens.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AIUsageMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final TokenEstimator tokenEstimator;
+
+    /**
+     * @param promptTokens     tokens du prompt comptés par le provider
+     * @param completionTokens tokens générés comptés par le provider
+     * @param finishReason     raison de fin renvoyée par le provider ("length" si coupé), ou null
+     */
+    public void record(String provider, AICompletionRequest request, int promptTokens,
+                       int completionTokens, String finishReason) {
+        int estimated = tokenEstimator.estimate(request.prompt());
+
+        summary("pitch.ai.tokens.prompt", "Tokens du prompt", provider, request.kind())
+                .tag("source", "estimated")
+                .register(meterRegistry)
+                .record(estimated);
+        summary("pitch.ai.tokens.prompt", "Tokens du prompt", provider, request.kind())
+                .tag("source", "actual")
+                .register(meterRegistry)
+                .record(promptTokens);
+        summary("pitch.ai.tokens.completion", "Tokens générés", provider, request.kind())
+                .register(meterRegistry)
+                .record(completionTokens);
+        if (estimated > 0) {
+            summary("pitch.ai.tokens.estimate.ratio", "Tokens réels du prompt / estimation locale", provider, request.kind())
+                    .register(meterRegistry)
+                    .record((double) promptTokens / estimated);
+        }
+
+        if ("length".equals(finishReason) || completionTokens >= request.maxTokens()) {
+            Counter.builder("pitch.ai.completions.truncated")
+                    .description("Réponses IA coupées par max_tokens")
+                    .tag("provider", provider)
+                    .tag("kind", request.kind())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Réponse {} coupée par max_tokens ({} tokens)", request.kind(), request.maxTokens());
+        }
+        log.debug("Tokens {} via {}: prompt estimé {} / réel {}, réponse {}",
+                request.kind(), provider, estimated, promptTokens, completionTokens);
+    }
+
+    private static DistributionSummary.Builder summary(String name, String description, String provider, String kind) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("provider", provider)
+                .tag("kind", kind);
+    }
+}
@@ -0,0 +1,194 @@
+package ma.startup.platform.pitchservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.dto.StartupDTO;
+import ma.startup.platform.pitchservice.model.DeckSection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Génération des pitchs DECK section par section.
+ *
+ * Chaque section est un appel IA court, lancé en parallèle des autres ; les crédits du
+ * gouverneur pour l'ensemble des sections (prompt + réponse attendue, régularisés sur chaque réponse
+ * reçue) sont réservés d'un bloc avant le premier appel, si bien qu'un deck est accepté ou refusé
+ * (429) en entier. Le texte du deck est l'assemblage des
+ * sections dans l'ordre de {@link DeckSection}.
+ * Une section peut ensuite être régénérée seule, pour une fraction des tokens du deck complet ;
+ * le texte d'un deck antérieur aux sections est d'abord découpé avec {@link #split}.
+ */
+@Service
+@Slf4j
+public class DeckGenerator {
+
+    // Marques de titre autour d'un nom de section : #, **, numérotation, deux-points final
+    private static final Pattern HEADING_DECORATION = Pattern.compile("^[\\s#*_>-]*(\\d+\\s*[.)]\\s*)?|[\\s*_:]*$");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private final AIService aiService;
+    private final AIResponseCache responseCache;
+    private final AIGovernor governor;
+    private final PromptBuilder promptBuilder;
+    private final TokenEstimator tokenEstimator;
+    private final int sectionExpectedTokens;
+    private final ThreadPoolExecutor sections;
+
+    public DeckGenerator(AIService aiService,
+                         AIResponseCache responseCache,
+                         AIGovernor governor,
+                         PromptBuilder promptBuilder,
+                         TokenEstimator tokenEstimator,
+                         @Value("${ai.tokens.expected-output.deck-section:120}") int sectionExpectedTokens,
+                         @Value("${pitch.deck.workers:8}") int workerCount,
+                         @Value("${pitch.deck.queue-capacity:64}") int queueCapacity) {
+        this.aiService = aiService;
+        this.responseCache = responseCache;
+        this.governor = governor;
+        this.promptBuilder = promptBuilder;
+        this.tokenEstimator = tokenEstimator;
+        this.sectionExpectedTokens = sectionExpectedTokens;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sections = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "deck-section-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.sections.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sections.shutdownNow();
+    }
+
+    /**
+     * Générer toutes les sections en parallèle ; l'échec d'une section fait échouer le deck
+     */
+    public Map<DeckSection, String> generateSections(String probleme, String solution, String cible,
+                                                     String avantage, StartupDTO startup) {
+        return generateSections(probleme, solution, cible, avantage, startup, (section, contenu) -> { });
+    }
+
+    /**
+     * Idem, en signalant chaque section dès qu'elle est prête (depuis le thread qui l'a générée)
+     */
+    public Map<DeckSection, String> generateSections(String probleme, String solution, String cible,
+                                                     String avantage, StartupDTO startup,
+                                                     BiConsumer<DeckSection, String> onSection) {
+        boolean bypass = responseCache.isBypassed();
+        int estimatedTokens = Arrays.stream(DeckSection.values())
+                .mapToInt(section -> tokenEstimator.estimate(promptBuilder.deckSectionPrompt(
+                        probleme, solution, cible, avantage, startup, section, null, null)) + sectionExpectedTokens)
+                .sum();
+
+        Map<DeckSection, String> contents = new ConcurrentHashMap<>();
+        try (AIGovernor.Reservation reservation = governor.reserve(DeckSection.values().length, estimatedTokens)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (DeckSection section : DeckSection.values()) {
+                futures.add(CompletableFuture.runAsync(governor.prepaid(reservation, responseCache.bypassing(bypass, () -> {
+                    String contenu = aiService.generateDeckSection(probleme, solution, cible, avantage, startup,
+                            section, null, null);
+                    contents.put(section, contenu);
+                    onSection.accept(section, contenu);
+                })), sections));
+            }
+
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        log.info("Pitch deck généré en {} sections", contents.size());
+        Map<DeckSection, String> ordered = new EnumMap<>(DeckSection.class);
+        ordered.putAll(contents);
+        return ordered;
+    }
+
+    /**
+     * Régénérer une section à partir de son contenu actuel et de consignes facultatives
+     */
+    public String regenerateSection(String probleme, String solution, String cible, String avantage,
+                                    StartupDTO startup, DeckSection section, String contenuActuel,
+                                    String instructions) {
+        return aiService.generateDeckSection(probleme, solution, cible, avantage, startup,
+                section, contenuActuel, instructions);
+    }
+
+    /**
+     * Texte complet du deck, sections dans l'ordre de présentation
+     */
+    public static String assemble(Map<DeckSection, String> contents) {
+        return Arrays.stream(DeckSection.values())
+                .filter(contents::containsKey)
+                .map(section -> "## " + section.getTitre() + "\n\n" + contents.get(section))
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    /**
+     * Découper le texte d'un deck antérieur aux sections, d'après les lignes de titre ("## Problème",
+     * "**1. Solution :**"...) ; vide si chaque section n'y figure pas exactement une fois avec un contenu
+     */
+    public static Optional<Map<DeckSection, String>> split(String text) {
+        if (text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+        Map<String, DeckSection> titles = new HashMap<>();
+        for (DeckSection section : DeckSection.values()) {
+            titles.put(normalizeTitle(section.getTitre()), section);
+        }
+
+        Map<DeckSection, StringBuilder> bodies = new EnumMap<>(DeckSection.class);
+        StringBuilder current = null;
+        for (String line : text.split("\\R")) {
+            DeckSection heading = titles.get(normalizeTitle(HEADING_DECORATION.matcher(line).replaceAll("")));
+            if (heading != null) {
+                if (bodies.containsKey(heading)) {
+                    return Optional.empty();
+                }
+                current = new StringBuilder();
+                bodies.put(heading, current);
+            } else if (current != null) {
+                current.append(line).append('\n');
+            }
+        }
+
+        Map<DeckSection, String> contents = new EnumMap<>(DeckSection.class);
+        bodies.forEach((section, body) -> contents.put(section, body.toString().strip()));
+        if (contents.size() != DeckSection.values().length || contents.containsValue("")) {
+            return Optional.empty();
+        }
+        return Optional.of(contents);
+    }
+
+    private static String normalizeTitle(String value) {
+        return ACCENTS.matcher(Normalizer.normalize(value.strip(), Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+}
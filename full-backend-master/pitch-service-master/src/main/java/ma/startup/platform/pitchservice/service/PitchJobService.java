@@ -0,0 +1,26 @@
+package ma.startup.platform.pitchservice.service;
+
+import ma.startup.platform.pitchservice.dto.PitchJobDTO;
+import ma.startup.platform.pitchservice.dto.PitchRequestDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface PitchJobService {
+
+    /**
+     * Mettre en file une génération de pitch, traitée en arrière-plan.
+     * Sans {@code force}, un pitch existant quasi identique termine le job immédiatement.
+     */
+    PitchJobDTO submit(PitchRequestDTO request, boolean force, String authToken);
+
+    /**
+     * État d'un job de génération
+     */
+    PitchJobDTO getJob(UUID jobId, String authToken);
+
+    /**
+     * S'abonner aux changements d'état d'un job (Server-Sent Events)
+     */
+    SseEmitter subscribe(UUID jobId, String authToken);
+}
@@ -3,30 +3,55 @@ package ma.startup.platform.pitchservice.service;
 import ma.startup.platform.pitchservice.dto.PitchRequestDTO;
 import ma.startup.platform.pitchservice.dto.PitchResponseDTO;
 import ma.startup.platform.pitchservice.dto.PitchStatsDTO;
+import ma.startup.platform.pitchservice.dto.PitchSummaryDTO;
+import ma.startup.platform.pitchservice.dto.PitchVariantsRequestDTO;
+import ma.startup.platform.pitchservice.dto.PitchVariantsResponseDTO;
+import ma.startup.platform.pitchservice.model.DeckSection;
+import ma.startup.platform.pitchservice.model.Pitch;
 
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface PitchService {
 
     /**
-     * Générer un nouveau pitch avec l'IA
+     * Générer plusieurs types de pitch (ELEVATOR, DECK, VALUE_PROP) pour les mêmes données.
+     * Sans {@code force}, un pitch existant quasi identique est réutilisé au lieu d'être régénéré.
      */
-    PitchResponseDTO generatePitch(PitchRequestDTO request, String authToken);
+    PitchVariantsResponseDTO generateVariants(PitchVariantsRequestDTO request, boolean force, String authToken);
 
     /**
-     * Récupérer tous les pitchs d'un utilisateur
+     * Enregistrer un pitch généré avec ses statistiques, et les sections s'il s'agit d'un deck.
+     * Rejoint la transaction appelante s'il y en a une ; le pitch n'est indexé pour la détection
+     * des doublons qu'une fois cette transaction validée.
      */
-    List<PitchResponseDTO> getMyPitchs(String authToken);
+    Pitch createPitch(Pitch pitch, Map<DeckSection, String> deckSections);
+
+    /**
+     * Idem pour plusieurs pitchs, les sections s'appliquant à chaque deck du lot
+     */
+    List<Pitch> createPitchs(List<Pitch> pitchs, Map<DeckSection, String> deckSections);
+
+    /**
+     * Récupérer tous les pitchs d'un utilisateur (aperçu du texte généré)
+     */
+    List<PitchSummaryDTO> getMyPitchs(String authToken);
 
     /**
      * Récupérer un pitch spécifique
      */
     PitchResponseDTO getPitchById(UUID pitchId, String authToken);
 
+    /**
+     * Régénérer une seule section d'un pitch deck, avec des consignes facultatives.
+     * Un deck antérieur aux sections est d'abord découpé d'après ses titres, ou refusé s'il ne peut pas l'être.
+     */
+    PitchResponseDTO regenerateSection(UUID pitchId, DeckSection section, String instructions, String authToken);
+
     /**
      * Modifier un pitch manuellement
      */
@@ -50,12 +75,12 @@ public interface PitchService {
     /**
      * Récupérer les pitchs favoris
      */
-    List<PitchResponseDTO> getFavoritePitchs(String authToken);
+    List<PitchSummaryDTO> getFavoritePitchs(String authToken);
 
     /**
      * Récupérer les pitchs avec pagination
      */
-    Page<PitchResponseDTO> getMyPitchsPaginated(String authToken, Pageable pageable);
+    Page<PitchSummaryDTO> getMyPitchsPaginated(String authToken, Pageable pageable);
 
     /**
      * Statistiques des pitchs
@@ -0,0 +1,267 @@
+package ma.startup.platform.pitchservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.model.Pitch;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.repository.PitchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Détection des demandes de pitch quasi identiques à un pitch existant de la même startup.
+ *
+ * Les champs probleme/solution/cible/avantage normalisés sont découpés en shingles de caractères,
+ * résumés par une signature MinHash, puis rangés dans un index LSH (bandes de la signature) par
+ * startup. Une demande dont la similarité de Jaccard estimée atteint {@code threshold} avec un
+ * pitch du même type peut réutiliser ce pitch au lieu d'une nouvelle génération.
+ *
+ * L'index d'une startup est construit depuis la base au premier accès, puis tenu à jour à chaque
+ * création, modification ou suppression ; les startups inactives sont évincées de la mémoire.
+ */
+@Service
+@Slf4j
+public class PitchSimilarityIndex {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long PRIME = (1L << 31) - 1;
+
+    /**
+     * Pitch existant réutilisable et sa similarité estimée avec la demande
+     */
+    public record Match(Pitch pitch, double similarity) {
+    }
+
+    private final PitchRepository pitchRepository;
+    private final boolean enabled;
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+    private final int shingleSize;
+    private final long[] hashA;
+    private final long[] hashB;
+    private final Cache<UUID, StartupIndex> indexes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PitchSimilarityIndex(PitchRepository pitchRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${pitch.similarity.enabled:true}") boolean enabled,
+                                @Value("${pitch.similarity.threshold:0.85}") double threshold,
+                                @Value("${pitch.similarity.bands:32}") int bands,
+                                @Value("${pitch.similarity.rows:4}") int rows,
+                                @Value("${pitch.similarity.shingle-size:5}") int shingleSize,
+                                @Value("${pitch.similarity.max-startups:10000}") long maxStartups,
+                                @Value("${pitch.similarity.idle-eviction:1h}") Duration idleEviction) {
+        this.pitchRepository = pitchRepository;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+
+        // Graine fixe : les signatures restent comparables d'un redémarrage à l'autre
+        Random random = new Random(0x5EED);
+        this.hashA = new long[bands * rows];
+        this.hashB = new long[bands * rows];
+        for (int i = 0; i < hashA.length; i++) {
+            hashA[i] = 1 + random.nextInt((int) PRIME - 1);
+            hashB[i] = random.nextInt((int) PRIME);
+        }
+
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxStartups)
+                .expireAfterAccess(idleEviction)
+                .build();
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pitch.similarity.lookups")
+                .description("Recherches de pitchs quasi identiques")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pitch existant de la startup, du même type, assez proche de la demande pour être réutilisé
+     */
+    public Optional<Match> findSimilar(UUID startupId, PitchType type, String probleme,
+                                       String solution, String cible, String avantage) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        int[] signature = signature(probleme, solution, cible, avantage);
+        StartupIndex index = indexes.get(startupId, this::load);
+
+        for (Map.Entry<UUID, Double> candidate : index.candidates(signature, type).entrySet()) {
+            Optional<Pitch> pitch = pitchRepository.findByIdAndStartupId(candidate.getKey(), startupId);
+            if (pitch.isPresent()) {
+                hits.increment();
+                log.info("Demande quasi identique au pitch {} (similarité {})", candidate.getKey(), candidate.getValue());
+                return Optional.of(new Match(pitch.get(), candidate.getValue()));
+            }
+            // Entrée d'un pitch supprimé ou d'une transaction annulée
+            index.remove(candidate.getKey());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Indexer un pitch créé ou dont les champs ont changé
+     */
+    public void put(Pitch pitch) {
+        StartupIndex index = indexes.getIfPresent(pitch.getStartupId());
+        if (index != null) {
+            index.put(pitch.getId(), pitch.getType(),
+                    signature(pitch.getProbleme(), pitch.getSolution(), pitch.getCible(), pitch.getAvantage()));
+        }
+    }
+
+    public void remove(Pitch pitch) {
+        StartupIndex index = indexes.getIfPresent(pitch.getStartupId());
+        if (index != null) {
+            index.remove(pitch.getId());
+        }
+    }
+
+    private StartupIndex load(UUID startupId) {
+        StartupIndex index = new StartupIndex();
+        for (Object[] row : pitchRepository.findInputsByStartupId(startupId)) {
+            index.put((UUID) row[0], (PitchType) row[1],
+                    signature((String) row[2], (String) row[3], (String) row[4], (String) row[5]));
+        }
+        return index;
+    }
+
+    int[] signature(String probleme, String solution, String cible, String avantage) {
+        String text = normalize(probleme) + " | " + normalize(solution) + " | "
+                + normalize(cible) + " | " + normalize(avantage);
+
+        int[] signature = new int[hashA.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            int shingle = 0;
+            for (int i = start; i < Math.min(text.length(), start + shingleSize); i++) {
+                shingle = 31 * shingle + text.charAt(i);
+            }
+            long x = shingle & 0xFFFFFFFFL;
+            for (int h = 0; h < signature.length; h++) {
+                int value = (int) ((hashA[h] * x + hashB[h]) % PRIME);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = ACCENTS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Signatures et seaux LSH d'une startup
+     */
+    private final class StartupIndex {
+        private final Map<UUID, PitchType> types = new HashMap<>();
+        private final Map<UUID, int[]> signatures = new HashMap<>();
+        private final Map<Long, Set<UUID>> buckets = new HashMap<>();
+
+        synchronized void put(UUID pitchId, PitchType type, int[] signature) {
+            remove(pitchId);
+            types.put(pitchId, type);
+            signatures.put(pitchId, signature);
+            for (int band = 0; band < bands; band++) {
+                buckets.computeIfAbsent(bucket(signature, band), key -> new HashSet<>()).add(pitchId);
+            }
+        }
+
+        synchronized void remove(UUID pitchId) {
+            int[] signature = signatures.remove(pitchId);
+            types.remove(pitchId);
+            if (signature == null) {
+                return;
+            }
+            for (int band = 0; band < bands; band++) {
+                long key = bucket(signature, band);
+                Set<UUID> bucket = buckets.get(key);
+                if (bucket != null && bucket.remove(pitchId) && bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+
+        /**
+         * Candidats du même type au-dessus du seuil, du plus similaire au moins similaire
+         */
+        synchronized Map<UUID, Double> candidates(int[] signature, PitchType type) {
+            Set<UUID> seen = new HashSet<>();
+            Map<UUID, Double> matches = new HashMap<>();
+            for (int band = 0; band < bands; band++) {
+                Set<UUID> bucket = buckets.get(bucket(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (UUID pitchId : bucket) {
+                    if (seen.add(pitchId) && types.get(pitchId) == type) {
+                        double similarity = similarity(signature, signatures.get(pitchId));
+                        if (similarity >= threshold) {
+                            matches.put(pitchId, similarity);
+                        }
+                    }
+                }
+            }
+            Map<UUID, Double> sorted = new LinkedHashMap<>();
+            matches.entrySet().stream()
+                    .sorted(Map.Entry.<UUID, Double>comparingByValue().reversed())
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+
+        private long bucket(int[] signature, int band) {
+            int hash = 1;
+            for (int i = band * rows; i < (band + 1) * rows; i++) {
+                hash = 31 * hash + signature[i];
+            }
+            return ((long) band << 32) | (hash & 0xFFFFFFFFL);
+        }
+
+        private double similarity(int[] a, int[] b) {
+            int equal = 0;
+            for (int i = 0; i < a.length; i++) {
+                if (a[i] == b[i]) {
+                    equal++;
+                }
+            }
+            return (double) equal / a.length;
+        }
+    }
+}
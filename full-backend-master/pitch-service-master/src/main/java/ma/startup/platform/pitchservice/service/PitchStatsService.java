@@ -0,0 +1,126 @@
+package ma.startup.platform.pitchservice.service;
+
+import lombok.RequiredArgsConstructor;
+import ma.startup.platform.pitchservice.dto.PitchStatsDTO;
+import ma.startup.platform.pitchservice.model.Pitch;
+import ma.startup.platform.pitchservice.model.PitchStats;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.repository.PitchStatsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tenue à jour de la ligne pitch_stats d'une startup.
+ *
+ * Chaque méthode d'enregistrement doit être appelée dans la transaction qui modifie le pitch,
+ * après la modification, sur un pitch relu avec
+ * {@link ma.startup.platform.pitchservice.repository.PitchRepository#findByIdAndStartupIdForUpdate}
+ * : l'état précédent d'où est tiré le delta ne peut alors pas être modifié entre-temps.
+ */
+@Service
+@RequiredArgsConstructor
+public class PitchStatsService {
+
+    private final PitchStatsRepository pitchStatsRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pitchCreated(Pitch pitch) {
+        apply(pitch, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pitchsCreated(Collection<Pitch> pitchs) {
+        // Une seule variation par startup : si la ligne est créée, le calcul initial couvre déjà tout le lot
+        Map<UUID, long[]> deltas = new HashMap<>();
+        for (Pitch pitch : pitchs) {
+            long[] delta = deltas.computeIfAbsent(pitch.getStartupId(), id -> new long[4]);
+            delta[0]++;
+            delta[1] += pitch.getType() == PitchType.ELEVATOR ? 1 : 0;
+            delta[2] += pitch.getType() == PitchType.DECK ? 1 : 0;
+            delta[3] += pitch.getType() == PitchType.VALUE_PROP ? 1 : 0;
+        }
+        deltas.forEach((startupId, delta) ->
+                pitchStatsRepository.applyDelta(startupId, delta[0], 0, 0, 0, delta[1], delta[2], delta[3]));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pitchDeleted(Pitch pitch) {
+        apply(pitch, -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void favoriteChanged(Pitch pitch, boolean wasFavorite) {
+        long delta = flag(pitch.getIsFavorite()) - (wasFavorite ? 1 : 0);
+        if (delta != 0) {
+            pitchStatsRepository.applyDelta(pitch.getStartupId(), 0, delta, 0, 0, 0, 0, 0);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ratingChanged(Pitch pitch, Integer previousRating) {
+        long sumDelta = value(pitch.getRating()) - value(previousRating);
+        long countDelta = (pitch.getRating() != null ? 1 : 0) - (previousRating != null ? 1 : 0);
+        if (sumDelta != 0 || countDelta != 0) {
+            pitchStatsRepository.applyDelta(pitch.getStartupId(), 0, 0, sumDelta, countDelta, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Lire les statistiques d'une startup ; la ligne est calculée une fois si elle n'existe pas encore
+     */
+    @Transactional
+    public PitchStatsDTO getStats(UUID startupId) {
+        PitchStats stats = pitchStatsRepository.findById(startupId).orElseGet(() -> {
+            pitchStatsRepository.applyDelta(startupId, 0, 0, 0, 0, 0, 0, 0);
+            return pitchStatsRepository.findById(startupId).orElseThrow();
+        });
+
+        Map<String, Long> pitchsByType = new HashMap<>();
+        putIfPositive(pitchsByType, PitchType.ELEVATOR, stats.getElevatorCount());
+        putIfPositive(pitchsByType, PitchType.DECK, stats.getDeckCount());
+        putIfPositive(pitchsByType, PitchType.VALUE_PROP, stats.getValuePropCount());
+
+        return PitchStatsDTO.builder()
+                .totalPitchs(stats.getTotalPitchs())
+                .favoritePitchs(stats.getFavoritePitchs())
+                .averageRating(stats.getRatingCount() > 0
+                        ? (double) stats.getRatingSum() / stats.getRatingCount()
+                        : 0.0)
+                .pitchsByType(pitchsByType)
+                .build();
+    }
+
+    private void apply(Pitch pitch, int sign) {
+        PitchType type = pitch.getType();
+        pitchStatsRepository.applyDelta(
+                pitch.getStartupId(),
+                sign,
+                sign * flag(pitch.getIsFavorite()),
+                sign * value(pitch.getRating()),
+                sign * (pitch.getRating() != null ? 1 : 0),
+                type == PitchType.ELEVATOR ? sign : 0,
+                type == PitchType.DECK ? sign : 0,
+                type == PitchType.VALUE_PROP ? sign : 0
+        );
+    }
+
+    private static void putIfPositive(Map<String, Long> pitchsByType, PitchType type, long count) {
+        if (count > 0) {
+            pitchsByType.put(type.name(), count);
+        }
+    }
+
+    private static long flag(Boolean value) {
+        return Boolean.TRUE.equals(value) ? 1 : 0;
+    }
+
+    private static long value(Integer rating) {
+        return rating != null ? rating : 0;
+    }
+}
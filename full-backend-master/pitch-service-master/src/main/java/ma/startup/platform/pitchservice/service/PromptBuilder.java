@@ -0,0 +1,120 @@
+package ma.startup.platform.pitchservice.service;
+
+import lombok.RequiredArgsConstructor;
+import ma.startup.platform.pitchservice.dto.StartupDTO;
+import ma.startup.platform.pitchservice.model.DeckSection;
+import ma.startup.platform.pitchservice.model.PitchType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Construction des prompts et nettoyage des réponses, communs à tous les providers IA.
+ * Chaque texte saisi par l'utilisateur est tronqué à un budget de tokens avant d'entrer dans le prompt.
+ */
+@Component
+@RequiredArgsConstructor
+public class PromptBuilder {
+
+    private final PromptTemplateRegistry templateRegistry;
+    private final TokenEstimator tokenEstimator;
+
+    // Budgets d'entrée, en tokens estimés
+    @Value("${ai.tokens.max-field-input:200}")
+    private int maxFieldInput;
+
+    @Value("${ai.tokens.max-pitch-input:1500}")
+    private int maxPitchInput;
+
+    /**
+     * Prompt de génération, rendu depuis le template compilé du secteur de la startup
+     */
+    public String pitchPrompt(
+            String probleme,
+            String solution,
+            String cible,
+            String avantage,
+            StartupDTO startup,
+            PitchType type
+    ) {
+        return templateRegistry.render(
+                startup.getSecteur(),
+                type,
+                startup.getNom(),
+                field(probleme),
+                field(solution),
+                field(cible),
+                field(avantage)
+        );
+    }
+
+    /**
+     * Prompt d'une section de pitch deck, rendu depuis les templates DECK du secteur,
+     * ou de sa réécriture si {@code contenuActuel} est fourni
+     */
+    public String deckSectionPrompt(
+            String probleme,
+            String solution,
+            String cible,
+            String avantage,
+            StartupDTO startup,
+            DeckSection section,
+            String contenuActuel,
+            String instructions
+    ) {
+        StringBuilder consigne = new StringBuilder(section.getConsigne()).append(" 40-80 mots, en points courts.");
+        if (contenuActuel != null && !contenuActuel.isBlank()) {
+            consigne.append("\n\nVersion actuelle de la section, à réécrire:\n").append(field(contenuActuel));
+        }
+        if (instructions != null && !instructions.isBlank()) {
+            consigne.append("\n\nConsignes: ").append(field(instructions));
+        }
+
+        return templateRegistry.renderSection(
+                startup.getSecteur(),
+                section,
+                consigne.toString(),
+                startup.getNom(),
+                field(probleme),
+                field(solution),
+                field(cible),
+                field(avantage)
+        );
+    }
+
+    public String improvePrompt(String pitchExistant, String suggestions) {
+        return String.format(
+                "Améliore ce pitch selon ces suggestions:\n\nPitch: %s\n\nSuggestions: %s\n\nPitch amélioré:",
+                tokenEstimator.trim(pitchExistant, maxPitchInput), field(suggestions)
+        );
+    }
+
+    public String suggestionsPrompt(String pitch) {
+        return String.format(
+                "Analyse ce pitch et donne 3-5 suggestions d'amélioration:\n\n%s\n\nSuggestions:",
+                tokenEstimator.trim(pitch, maxPitchInput)
+        );
+    }
+
+    private String field(String value) {
+        return tokenEstimator.trim(value, maxFieldInput);
+    }
+
+    public String cleanResponse(String response) {
+        if (response == null) return "";
+
+        String cleaned = response.trim();
+
+        // Supprimer préfixes courants
+        String[] prefixes = {"Voici", "Le pitch", "Pitch:"};
+        for (String prefix : prefixes) {
+            if (cleaned.startsWith(prefix)) {
+                cleaned = cleaned.substring(prefix.length()).trim();
+                if (cleaned.startsWith(":")) {
+                    cleaned = cleaned.substring(1).trim();
+                }
+            }
+        }
+
+        return cleaned;
+    }
+}
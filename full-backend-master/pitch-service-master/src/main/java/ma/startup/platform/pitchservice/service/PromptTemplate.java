@@ -0,0 +1,94 @@
+package ma.startup.platform.pitchservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Template de prompt compilé : le texte est découpé une seule fois en segments littéraux et
+ * placeholders {@code {{nom}}}, le rendu ne fait plus que concaténer les valeurs.
+ * Un placeholder inconnu est conservé tel quel dans le texte.
+ */
+public final class PromptTemplate {
+
+    /**
+     * Variables disponibles dans les templates
+     */
+    public enum Placeholder {
+        STARTUP, SECTEUR, PROBLEME, SOLUTION, CIBLE, AVANTAGE, TYPE, CONSIGNE, SECTION;
+
+        private final String key = name().toLowerCase(Locale.ROOT);
+
+        static Placeholder of(String key) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.key.equals(key)) {
+                    return placeholder;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+    private final String[] literals;          // literals[i] précède placeholders[i]
+    private final Placeholder[] placeholders;
+    private final int literalLength;
+
+    private PromptTemplate(String source, List<String> literals, List<Placeholder> placeholders) {
+        this.source = source;
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.toArray(new Placeholder[0]);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static PromptTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            literal.append(source, position, open);
+            Placeholder placeholder = Placeholder.of(source.substring(open + OPEN.length(), close).trim().toLowerCase(Locale.ROOT));
+            if (placeholder == null) {
+                literal.append(source, open, close + CLOSE.length());
+            } else {
+                literals.add(literal.toString());
+                placeholders.add(placeholder);
+                literal.setLength(0);
+            }
+            position = close + CLOSE.length();
+        }
+        literal.append(source, position, source.length());
+        literals.add(literal.toString());
+
+        return new PromptTemplate(source, literals, placeholders);
+    }
+
+    /**
+     * @param values valeurs indexées par {@link Placeholder#ordinal()}, null rendu comme chaîne vide
+     */
+    public String render(String[] values) {
+        StringBuilder prompt = new StringBuilder(literalLength + 64 * placeholders.length);
+        for (int i = 0; i < placeholders.length; i++) {
+            prompt.append(literals[i]);
+            String value = values[placeholders[i].ordinal()];
+            if (value != null) {
+                prompt.append(value);
+            }
+        }
+        return prompt.append(literals[placeholders.length]).toString();
+    }
+
+    public String source() {
+        return source;
+    }
+}
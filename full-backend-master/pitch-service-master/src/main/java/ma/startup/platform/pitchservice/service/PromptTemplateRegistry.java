@@ -0,0 +1,193 @@
+package ma.startup.platform.pitchservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.model.DeckSection;
+import ma.startup.platform.pitchservice.model.PitchTemplate;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.repository.PitchTemplateRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Templates de prompt par secteur, compilés et gardés en mémoire.
+ *
+ * Les lignes actives de pitch_templates sont chargées d'un bloc puis remplacées atomiquement
+ * quand leur contenu change (empreinte md5 calculée par la base sur les lignes actives, qui voit
+ * aussi les éditions faites directement en SQL), vérifié toutes les
+ * {@code pitch.templates.refresh-interval}. Le rendu d'un prompt ne touche donc jamais la base.
+ *
+ * Ordre de résolution : secteur + type, secteur seul, template générique (sans secteur) + type,
+ * template générique, puis le template intégré. Les sections d'un pitch deck sont rendues une par
+ * une depuis les templates de type DECK uniquement ({{section}} = titre de la section), puis le
+ * template de section intégré.
+ */
+@Service
+@Slf4j
+public class PromptTemplateRegistry {
+
+    static final String DEFAULT_TEMPLATE = """
+            Tu es un expert en pitchs de start-ups.
+
+            Génère un pitch professionnel EN FRANÇAIS pour:
+
+            Startup: {{startup}}
+            Secteur: {{secteur}}
+            Problème: {{probleme}}
+            Solution: {{solution}}
+            Cible: {{cible}}
+            Avantage: {{avantage}}
+
+            {{consigne}}
+
+            Réponds UNIQUEMENT avec le pitch, sans introduction.
+            Langue: FRANÇAIS
+            """;
+
+    static final String DEFAULT_SECTION_TEMPLATE = """
+            Tu es un expert en pitchs de start-ups.
+
+            Rédige EN FRANÇAIS la section "{{section}}" du pitch deck de:
+
+            Startup: {{startup}}
+            Secteur: {{secteur}}
+            Problème: {{probleme}}
+            Solution: {{solution}}
+            Cible: {{cible}}
+            Avantage: {{avantage}}
+
+            {{consigne}}
+
+            Réponds UNIQUEMENT avec le contenu de la section, sans titre ni introduction.
+            """;
+
+    // Consigne propre au type, disponible dans tous les templates via {{consigne}}
+    private static final Map<PitchType, String> CONSIGNES = new EnumMap<>(Map.of(
+            PitchType.ELEVATOR, "Crée un elevator pitch de 120-150 mots.",
+            PitchType.DECK, "Crée une structure pitch deck complète.",
+            PitchType.VALUE_PROP, "Crée une proposition de valeur de 80-100 mots."
+    ));
+
+    private static final String ANY_SECTEUR = "";
+
+    private final PitchTemplateRepository templateRepository;
+    private final PromptTemplate builtIn = PromptTemplate.compile(DEFAULT_TEMPLATE);
+    private final PromptTemplate builtInSection = PromptTemplate.compile(DEFAULT_SECTION_TEMPLATE);
+
+    private volatile Map<String, PromptTemplate> templates = Map.of();
+    private volatile String version;
+
+    public PromptTemplateRegistry(PitchTemplateRepository templateRepository) {
+        this.templateRepository = templateRepository;
+    }
+
+    /**
+     * Rendre le prompt de génération pour un secteur et un type de pitch
+     */
+    public String render(String secteur, PitchType type, String startup, String probleme,
+                         String solution, String cible, String avantage) {
+        String[] values = values(secteur, startup, probleme, solution, cible, avantage);
+        values[PromptTemplate.Placeholder.TYPE.ordinal()] = type.name();
+        values[PromptTemplate.Placeholder.CONSIGNE.ordinal()] = CONSIGNES.get(type);
+        return resolve(secteur, type).render(values);
+    }
+
+    /**
+     * Rendre le prompt d'une section de pitch deck ; {@code consigne} porte la consigne de la section
+     * (et le contenu à réécrire le cas échéant)
+     */
+    public String renderSection(String secteur, DeckSection section, String consigne, String startup,
+                                String probleme, String solution, String cible, String avantage) {
+        String[] values = values(secteur, startup, probleme, solution, cible, avantage);
+        values[PromptTemplate.Placeholder.TYPE.ordinal()] = PitchType.DECK.name();
+        values[PromptTemplate.Placeholder.CONSIGNE.ordinal()] = consigne;
+        values[PromptTemplate.Placeholder.SECTION.ordinal()] = section.getTitre();
+        return resolve(secteur, PitchType.DECK, false, builtInSection).render(values);
+    }
+
+    private static String[] values(String secteur, String startup, String probleme,
+                                   String solution, String cible, String avantage) {
+        String[] values = new String[PromptTemplate.Placeholder.values().length];
+        values[PromptTemplate.Placeholder.STARTUP.ordinal()] = startup;
+        values[PromptTemplate.Placeholder.SECTEUR.ordinal()] = secteur;
+        values[PromptTemplate.Placeholder.PROBLEME.ordinal()] = probleme;
+        values[PromptTemplate.Placeholder.SOLUTION.ordinal()] = solution;
+        values[PromptTemplate.Placeholder.CIBLE.ordinal()] = cible;
+        values[PromptTemplate.Placeholder.AVANTAGE.ordinal()] = avantage;
+        return values;
+    }
+
+    PromptTemplate resolve(String secteur, PitchType type) {
+        return resolve(secteur, type, true, builtIn);
+    }
+
+    /**
+     * @param untyped accepter aussi les templates sans type (écrits pour un pitch complet)
+     */
+    private PromptTemplate resolve(String secteur, PitchType type, boolean untyped, PromptTemplate fallback) {
+        Map<String, PromptTemplate> current = templates;
+        if (!current.isEmpty()) {
+            String normalized = normalize(secteur);
+            String[] keys = untyped
+                    ? new String[]{key(normalized, type), key(normalized, null), key(ANY_SECTEUR, type), key(ANY_SECTEUR, null)}
+                    : new String[]{key(normalized, type), key(ANY_SECTEUR, type)};
+            for (String key : keys) {
+                PromptTemplate template = current.get(key);
+                if (template != null) {
+                    return template;
+                }
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Recharger les templates si la table a changé depuis le dernier chargement
+     */
+    @Scheduled(fixedDelayString = "${pitch.templates.refresh-interval:1m}")
+    public void refresh() {
+        try {
+            String current = templateRepository.findActiveFingerprint();
+            if (current.equals(version)) {
+                return;
+            }
+            reload(current);
+        } catch (RuntimeException e) {
+            log.warn("Rechargement des templates de prompt impossible, templates actuels conservés: {}", e.getMessage());
+        }
+    }
+
+    private void reload(String newVersion) {
+        List<PitchTemplate> rows = new ArrayList<>(templateRepository.findByIsActiveTrue());
+        rows.sort(Comparator.comparing(PitchTemplate::getNom, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<String, PromptTemplate> compiled = new HashMap<>();
+        for (PitchTemplate row : rows) {
+            if (row.getPrompt() == null || row.getPrompt().isBlank()) {
+                continue;
+            }
+            // En cas de doublon, le premier template par nom l'emporte
+            compiled.putIfAbsent(key(normalize(row.getSecteur()), row.getType()), PromptTemplate.compile(row.getPrompt()));
+        }
+
+        templates = Map.copyOf(compiled);
+        version = newVersion;
+        log.info("{} templates de prompt chargés", compiled.size());
+    }
+
+    private static String normalize(String secteur) {
+        return secteur == null ? ANY_SECTEUR : secteur.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String secteur, PitchType type) {
+        return secteur + "|" + Objects.toString(type, "*");
+    }
+}
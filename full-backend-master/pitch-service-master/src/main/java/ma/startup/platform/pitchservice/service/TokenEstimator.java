@@ -0,0 +1,70 @@
+package ma.startup.platform.pitchservice.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimation locale du nombre de tokens d'un texte, sans appel réseau.
+ *
+ * Approximation des tokenizers BPE (Llama, Gemini) : un mot compte un token par tranche de
+ * 4 caractères ASCII, les lettres accentuées comptent double, chaque ponctuation ou symbole
+ * compte un token. L'écart avec l'usage réel renvoyé par le provider est suivi par
+ * {@link AIUsageMetrics}.
+ */
+@Component
+public class TokenEstimator {
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final String ELLIPSIS = " […]";
+
+    public int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int tokens = 0;
+        int wordWeight = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                wordWeight += c < 128 ? 1 : 2;
+                continue;
+            }
+            tokens += wordTokens(wordWeight);
+            wordWeight = 0;
+            if (!Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        return tokens + wordTokens(wordWeight);
+    }
+
+    /**
+     * Tronquer {@code text} à environ {@code maxTokens} tokens, sur une fin de mot
+     */
+    public String trim(String text, int maxTokens) {
+        if (text == null || estimate(text) <= maxTokens) {
+            return text;
+        }
+        int budget = Math.max(0, maxTokens - estimate(ELLIPSIS));
+        int end = 0;
+        int low = 0;
+        int high = text.length();
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (estimate(text.substring(0, middle)) <= budget) {
+                end = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int wordEnd = text.lastIndexOf(' ', end);
+        if (wordEnd > end / 2) {
+            end = wordEnd;
+        }
+        return text.substring(0, end).stripTrailing() + ELLIPSIS;
+    }
+
+    private static int wordTokens(int weight) {
+        return weight == 0 ? 0 : (weight + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+}
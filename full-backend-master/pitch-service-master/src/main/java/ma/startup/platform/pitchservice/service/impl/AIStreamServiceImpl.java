@@ -0,0 +1,245 @@
+package ma.startup.platform.pitchservice.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.dto.PitchRequestDTO;
+import ma.startup.platform.pitchservice.dto.StartupDTO;
+import ma.startup.platform.pitchservice.model.DeckSection;
+import ma.startup.platform.pitchservice.model.Pitch;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.service.AIResponseCache;
+import ma.startup.platform.pitchservice.service.AIService;
+import ma.startup.platform.pitchservice.service.AIStreamService;
+import ma.startup.platform.pitchservice.service.DeckGenerator;
+import ma.startup.platform.pitchservice.service.PitchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Génération IA en Server-Sent Events.
+ *
+ * Le flux du provider est lu sur un pool borné, hors du thread Tomcat ; chaque fragment est
+ * relayé en événement "token", puis un événement "done" porte le texte final. Si le client
+ * se déconnecte, l'envoi échoue et la lecture du provider est interrompue sans rien sauvegarder.
+ */
+@Service
+@Slf4j
+public class AIStreamServiceImpl implements AIStreamService {
+
+    private final AIService aiService;
+    private final DeckGenerator deckGenerator;
+    private final PitchService pitchService;
+    private final AIResponseCache responseCache;
+    private final ThreadPoolExecutor streams;
+    private final long timeoutMillis;
+
+    public AIStreamServiceImpl(AIService aiService,
+                               DeckGenerator deckGenerator,
+                               PitchService pitchService,
+                               AIResponseCache responseCache,
+                               @Value("${pitch.streams.workers:8}") int workerCount,
+                               @Value("${pitch.streams.queue-capacity:32}") int queueCapacity,
+                               @Value("${pitch.streams.timeout:2m}") Duration timeout) {
+        this.aiService = aiService;
+        this.deckGenerator = deckGenerator;
+        this.pitchService = pitchService;
+        this.responseCache = responseCache;
+        this.timeoutMillis = timeout.toMillis();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.streams = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "ai-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.streams.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        streams.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter streamPitch(PitchRequestDTO request, StartupDTO startup, PitchType type) {
+        return stream("pitch " + type, onToken -> {
+            String pitchGenere = aiService.streamPitch(
+                    request.getProbleme(),
+                    request.getSolution(),
+                    request.getCible(),
+                    request.getAvantage(),
+                    startup,
+                    type,
+                    onToken
+            );
+
+            Pitch savedPitch = pitchService.createPitch(Pitch.builder()
+                    .startupId(startup.getId())
+                    .probleme(request.getProbleme())
+                    .solution(request.getSolution())
+                    .cible(request.getCible())
+                    .avantage(request.getAvantage())
+                    .pitchGenere(pitchGenere)
+                    .type(type)
+                    .isFavorite(false)
+                    .build(), null);
+            log.info("Pitch streamé sauvegardé avec ID: {}", savedPitch.getId());
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("type", type.name());
+            result.put("pitch", pitchGenere);
+            result.put("startupName", startup.getNom());
+            result.put("pitchId", savedPitch.getId());
+            return result;
+        });
+    }
+
+    @Override
+    public SseEmitter streamDeck(PitchRequestDTO request, StartupDTO startup) {
+        return stream("pitch DECK", onToken -> {
+            Map<DeckSection, String> contents = deckGenerator.generateSections(
+                    request.getProbleme(),
+                    request.getSolution(),
+                    request.getCible(),
+                    request.getAvantage(),
+                    startup,
+                    inDeckOrder(onToken)
+            );
+            String pitchGenere = DeckGenerator.assemble(contents);
+
+            Pitch savedPitch = pitchService.createPitch(Pitch.builder()
+                    .startupId(startup.getId())
+                    .probleme(request.getProbleme())
+                    .solution(request.getSolution())
+                    .cible(request.getCible())
+                    .avantage(request.getAvantage())
+                    .pitchGenere(pitchGenere)
+                    .type(PitchType.DECK)
+                    .isFavorite(false)
+                    .build(), contents);
+            log.info("Pitch deck streamé sauvegardé avec ID: {}", savedPitch.getId());
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("type", PitchType.DECK.name());
+            result.put("pitch", pitchGenere);
+            result.put("startupName", startup.getNom());
+            result.put("pitchId", savedPitch.getId());
+            return result;
+        });
+    }
+
+    /**
+     * Les sections arrivent dans le désordre : ne transmettre une section qu'une fois toutes
+     * celles qui la précèdent envoyées, pour que les fragments forment le texte de
+     * {@link DeckGenerator#assemble}
+     */
+    private static BiConsumer<DeckSection, String> inDeckOrder(Consumer<String> onToken) {
+        DeckSection[] order = DeckSection.values();
+        Map<DeckSection, String> ready = new EnumMap<>(DeckSection.class);
+        int[] next = new int[1];
+        return (section, contenu) -> {
+            synchronized (ready) {
+                ready.put(section, contenu);
+                while (next[0] < order.length && ready.containsKey(order[next[0]])) {
+                    DeckSection current = order[next[0]];
+                    onToken.accept((next[0] > 0 ? "\n\n" : "") + "## " + current.getTitre() + "\n\n" + ready.get(current));
+                    next[0]++;
+                }
+            }
+        };
+    }
+
+    @Override
+    public SseEmitter streamImprovePitch(String pitch, String suggestions) {
+        return stream("amélioration", onToken -> {
+            Map<String, Object> result = new HashMap<>();
+            result.put("originalPitch", pitch);
+            result.put("improvedPitch", aiService.streamImprovePitch(pitch, suggestions, onToken));
+            result.put("suggestions", suggestions);
+            return result;
+        });
+    }
+
+    @Override
+    public SseEmitter streamSuggestions(String pitch) {
+        return stream("suggestions", onToken -> {
+            Map<String, Object> result = new HashMap<>();
+            result.put("pitch", pitch);
+            result.put("suggestions", aiService.streamSuggestions(pitch, onToken));
+            return result;
+        });
+    }
+
+    private SseEmitter stream(String description, Function<Consumer<String>, Map<String, Object>> generation) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        AtomicBoolean disconnected = new AtomicBoolean();
+        Consumer<String> onToken = token -> {
+            if (!send(emitter, "token", Map.of("text", token))) {
+                disconnected.set(true);
+                throw new IllegalStateException("Client SSE déconnecté");
+            }
+        };
+
+        try {
+            streams.execute(responseCache.bypassing(responseCache.isBypassed(), () -> {
+                try {
+                    Map<String, Object> result = generation.apply(onToken);
+                    if (send(emitter, "done", result)) {
+                        emitter.complete();
+                    }
+                } catch (Exception e) {
+                    if (disconnected.get()) {
+                        log.info("Client déconnecté, streaming {} interrompu", description);
+                    } else {
+                        log.error("Erreur streaming {}: {}", description, e.getMessage());
+                        sendError(emitter, e.getMessage());
+                    }
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            log.warn("Pool de streaming saturé, {} refusé", description);
+            sendError(emitter, "Trop de générations en cours, réessayez dans quelques instants");
+        }
+        return emitter;
+    }
+
+    /**
+     * @return false si le client n'écoute plus (déconnexion ou timeout)
+     */
+    private boolean send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(Map.of("message", message != null ? message : "Erreur IA")));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package ma.startup.platform.pitchservice.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.client.StartupServiceClient;
+import ma.startup.platform.pitchservice.dto.PitchJobDTO;
+import ma.startup.platform.pitchservice.dto.PitchRequestDTO;
+import ma.startup.platform.pitchservice.dto.PitchResponseDTO;
+import ma.startup.platform.pitchservice.dto.StartupDTO;
+import ma.startup.platform.pitchservice.exception.AIRateLimitException;
+import ma.startup.platform.pitchservice.exception.PitchJobNotFoundException;
+import ma.startup.platform.pitchservice.model.Pitch;
+import ma.startup.platform.pitchservice.model.PitchJob;
+import ma.startup.platform.pitchservice.model.PitchJobStatus;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.repository.PitchJobRepository;
+import ma.startup.platform.pitchservice.repository.PitchRepository;
+import ma.startup.platform.pitchservice.service.AIResponseCache;
+import ma.startup.platform.pitchservice.service.AIService;
+import ma.startup.platform.pitchservice.service.PitchJobService;
+import ma.startup.platform.pitchservice.service.PitchService;
+import ma.startup.platform.pitchservice.service.PitchSimilarityIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * File de génération de pitchs.
+ *
+ * Les jobs sont persistés puis traités par un pool borné : l'appel à l'IA se fait hors de toute
+ * transaction, et seule la sauvegarde du pitch ouvre une transaction courte. Un job est réservé
+ * par un UPDATE conditionnel, ce qui permet à plusieurs instances de partager la même table ;
+ * le poller reprend les jobs que le pool n'a pas pu accepter et ceux d'une instance arrêtée.
+ * Un worker ne termine son job que s'il détient toujours la tentative réservée : un job repris
+ * entre-temps par une autre instance ne produit pas un second pitch.
+ *
+ * Les abonnés SSE sont locaux à l'instance ; ceux d'un job terminé ailleurs sont servis par
+ * une relecture périodique de la table.
+ */
+@Service
+@Slf4j
+public class PitchJobServiceImpl implements PitchJobService {
+
+    private final PitchJobRepository pitchJobRepository;
+    private final PitchRepository pitchRepository;
+    private final PitchService pitchService;
+    private final PitchSimilarityIndex similarityIndex;
+    private final AIService aiService;
+    private final AIResponseCache responseCache;
+    private final StartupServiceClient startupServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int maxAttempts;
+    private final Duration staleAfter;
+    private final long sseTimeoutMillis;
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public PitchJobServiceImpl(PitchJobRepository pitchJobRepository,
+                               PitchRepository pitchRepository,
+                               PitchService pitchService,
+                               PitchSimilarityIndex similarityIndex,
+                               AIService aiService,
+                               AIResponseCache responseCache,
+                               StartupServiceClient startupServiceClient,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${pitch.jobs.workers:4}") int workerCount,
+                               @Value("${pitch.jobs.queue-capacity:100}") int queueCapacity,
+                               @Value("${pitch.jobs.max-attempts:3}") int maxAttempts,
+                               @Value("${pitch.jobs.stale-after:5m}") Duration staleAfter,
+                               @Value("${pitch.jobs.sse-timeout:2m}") Duration sseTimeout) {
+        this.pitchJobRepository = pitchJobRepository;
+        this.pitchRepository = pitchRepository;
+        this.pitchService = pitchService;
+        this.similarityIndex = similarityIndex;
+        this.aiService = aiService;
+        this.responseCache = responseCache;
+        this.startupServiceClient = startupServiceClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.staleAfter = staleAfter;
+        this.sseTimeoutMillis = sseTimeout.toMillis();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "pitch-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    @Override
+    public PitchJobDTO submit(PitchRequestDTO request, boolean force, String authToken) {
+        StartupDTO startup = startupServiceClient.getMyStartup(authToken);
+
+        if (!force) {
+            PitchSimilarityIndex.Match match = similarityIndex.findSimilar(startup.getId(), PitchType.ELEVATOR,
+                    request.getProbleme(), request.getSolution(), request.getCible(), request.getAvantage()).orElse(null);
+            if (match != null) {
+                return reuse(request, startup, match);
+            }
+        }
+
+        PitchJob job = pitchJobRepository.save(PitchJob.builder()
+                .startupId(startup.getId())
+                .startupNom(startup.getNom())
+                .startupSecteur(startup.getSecteur())
+                .probleme(request.getProbleme())
+                .solution(request.getSolution())
+                .cible(request.getCible())
+                .avantage(request.getAvantage())
+                .type(PitchType.ELEVATOR)
+                .status(PitchJobStatus.QUEUED)
+                .attempts(0)
+                .bypassCache(responseCache.isBypassed())
+                .build());
+        log.info("Job de génération {} mis en file pour la startup {}", job.getId(), startup.getId());
+
+        dispatch(job.getId());
+        return mapToDTO(job, null);
+    }
+
+    /**
+     * Job terminé d'emblée, pointant sur le pitch existant quasi identique
+     */
+    private PitchJobDTO reuse(PitchRequestDTO request, StartupDTO startup, PitchSimilarityIndex.Match match) {
+        LocalDateTime now = LocalDateTime.now();
+        PitchJob job = pitchJobRepository.save(PitchJob.builder()
+                .startupId(startup.getId())
+                .startupNom(startup.getNom())
+                .startupSecteur(startup.getSecteur())
+                .probleme(request.getProbleme())
+                .solution(request.getSolution())
+                .cible(request.getCible())
+                .avantage(request.getAvantage())
+                .type(PitchType.ELEVATOR)
+                .status(PitchJobStatus.SUCCEEDED)
+                .attempts(0)
+                .pitchId(match.pitch().getId())
+                .similarity(match.similarity())
+                .startedAt(now)
+                .finishedAt(now)
+                .build());
+        log.info("Job {} servi par le pitch existant {}", job.getId(), match.pitch().getId());
+        return mapToDTO(job, match.pitch());
+    }
+
+    @Override
+    public PitchJobDTO getJob(UUID jobId, String authToken) {
+        return mapToDTO(findOwnedJob(jobId, authToken));
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID jobId, String authToken) {
+        PitchJob job = findOwnedJob(jobId, authToken);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+
+        if (job.isFinished()) {
+            send(emitter, mapToDTO(job));
+            emitter.complete();
+            return emitter;
+        }
+
+        subscribers.compute(jobId, (id, emitters) -> {
+            List<SseEmitter> registered = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            registered.add(emitter);
+            return registered;
+        });
+        Runnable unregister = () -> subscribers.computeIfPresent(jobId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(unregister);
+        emitter.onTimeout(unregister);
+        emitter.onError(e -> unregister.run());
+
+        // Relire après l'enregistrement : le job a pu se terminer entre-temps
+        pitchJobRepository.findById(jobId).ifPresent(current -> {
+            send(emitter, mapToDTO(current));
+            if (current.isFinished()) {
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Reprendre les jobs en attente et ceux abandonnés en cours de génération ;
+     * le premier passage a lieu au démarrage.
+     */
+    @Scheduled(fixedDelayString = "${pitch.jobs.poll-interval:5s}")
+    public void poll() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleBefore = now.minus(staleAfter);
+            transactionTemplate.executeWithoutResult(status -> {
+                int requeued = pitchJobRepository.requeueStale(staleBefore, maxAttempts, now);
+                int failed = pitchJobRepository.failStale(staleBefore, maxAttempts, now);
+                if (requeued > 0 || failed > 0) {
+                    log.warn("Jobs bloqués: {} remis en file, {} abandonnés", requeued, failed);
+                }
+            });
+
+            int capacity = workers.getQueue().remainingCapacity();
+            if (capacity > 0) {
+                pitchJobRepository.findQueuedIds(PageRequest.of(0, capacity)).forEach(this::dispatch);
+            }
+        } catch (Exception e) {
+            log.error("Échec du poller de jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Pousser aux abonnés de cette instance les jobs terminés par une autre
+     */
+    @Scheduled(fixedDelayString = "${pitch.jobs.sse-poll-interval:2s}")
+    public void pollSubscriptions() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            pitchJobRepository.findFinishedByIdIn(Set.copyOf(subscribers.keySet()))
+                    .forEach(job -> publish(mapToDTO(job)));
+        } catch (Exception e) {
+            log.warn("Échec de la relecture des jobs suivis: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(UUID jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+            log.debug("Pool de génération saturé, job {} laissé au poller", jobId);
+        }
+    }
+
+    private void process(UUID jobId) {
+        Integer claimed = transactionTemplate.execute(status -> pitchJobRepository.claim(jobId, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            return; // déjà pris par une autre instance
+        }
+
+        PitchJob job = pitchJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        int attempt = job.getAttempts();
+        publish(mapToDTO(job, null));
+
+        String[] generated = new String[1];
+        try {
+            StartupDTO startup = StartupDTO.builder()
+                    .id(job.getStartupId())
+                    .nom(job.getStartupNom())
+                    .secteur(job.getStartupSecteur())
+                    .build();
+            // Le worker n'a pas la requête HTTP: le contournement du cache vient du job
+            responseCache.bypassing(Boolean.TRUE.equals(job.getBypassCache()), () ->
+                    generated[0] = aiService.generatePitch(job.getProbleme(), job.getSolution(), job.getCible(),
+                            job.getAvantage(), startup, job.getType())).run();
+        } catch (Exception e) {
+            handleFailure(jobId, attempt, e);
+            return;
+        }
+
+        String pitchGenere = generated[0];
+        LocalDateTime finishedAt = LocalDateTime.now();
+        Pitch savedPitch;
+        try {
+            savedPitch = transactionTemplate.execute(status -> {
+                Pitch pitch = pitchService.createPitch(Pitch.builder()
+                        .startupId(job.getStartupId())
+                        .probleme(job.getProbleme())
+                        .solution(job.getSolution())
+                        .cible(job.getCible())
+                        .avantage(job.getAvantage())
+                        .pitchGenere(pitchGenere)
+                        .type(job.getType())
+                        .isFavorite(false)
+                        .build(), null);
+
+                // Tentative reprise par le poller pendant la génération : le pitch est annulé
+                if (pitchJobRepository.succeed(jobId, attempt, pitch.getId(), finishedAt) == 0) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return pitch;
+            });
+        } catch (Exception e) {
+            handleFailure(jobId, attempt, e);
+            return;
+        }
+        if (savedPitch == null) {
+            log.warn("Job {} repris par une autre tentative, pitch généré abandonné", jobId);
+            return;
+        }
+        job.setStatus(PitchJobStatus.SUCCEEDED);
+        job.setPitchId(savedPitch.getId());
+        job.setError(null);
+        job.setFinishedAt(finishedAt);
+        log.info("Job {} terminé, pitch sauvegardé avec ID: {}", jobId, savedPitch.getId());
+
+        publish(mapToDTO(job, savedPitch));
+    }
+
+    private void handleFailure(UUID jobId, int attempt, Exception e) {
+        log.warn("Échec de génération pour le job {}: {}", jobId, e.getMessage());
+
+        // Refus du gouverneur : rien n'a été envoyé au provider, la tentative est rendue
+        boolean notAttempted = e instanceof AIRateLimitException;
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status -> {
+            if (!notAttempted && attempt >= maxAttempts) {
+                return pitchJobRepository.fail(jobId, attempt, e.getMessage(), now);
+            }
+            // repris au prochain passage du poller
+            return pitchJobRepository.requeue(jobId, attempt, notAttempted ? 1 : 0, e.getMessage(), now);
+        });
+        if (updated == null || updated == 0) {
+            log.debug("Job {} déjà repris par une autre tentative, échec ignoré", jobId);
+            return;
+        }
+        pitchJobRepository.findById(jobId).ifPresent(job -> publish(mapToDTO(job, null)));
+    }
+
+    private PitchJob findOwnedJob(UUID jobId, String authToken) {
+        StartupDTO startup = startupServiceClient.getMyStartup(authToken);
+        return pitchJobRepository.findByIdAndStartupId(jobId, startup.getId())
+                .orElseThrow(() -> new PitchJobNotFoundException(jobId));
+    }
+
+    private void publish(PitchJobDTO dto) {
+        List<SseEmitter> emitters = dto.getStatus() == PitchJobStatus.SUCCEEDED || dto.getStatus() == PitchJobStatus.FAILED
+                ? subscribers.remove(dto.getId())
+                : subscribers.get(dto.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, dto);
+            if (dto.getStatus() == PitchJobStatus.SUCCEEDED || dto.getStatus() == PitchJobStatus.FAILED) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, PitchJobDTO dto) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(dto));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private PitchJobDTO mapToDTO(PitchJob job) {
+        Pitch pitch = job.getPitchId() != null ? pitchRepository.findById(job.getPitchId()).orElse(null) : null;
+        return mapToDTO(job, pitch);
+    }
+
+    private PitchJobDTO mapToDTO(PitchJob job, Pitch pitch) {
+        return PitchJobDTO.builder()
+                .id(job.getId())
+                .startupId(job.getStartupId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .error(job.getError())
+                .pitchId(job.getPitchId())
+                .similarity(job.getSimilarity())
+                .pitch(pitch != null ? mapToResponseDTO(pitch) : null)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private PitchResponseDTO mapToResponseDTO(Pitch pitch) {
+        return PitchResponseDTO.builder()
+                .id(pitch.getId())
+                .startupId(pitch.getStartupId())
+                .probleme(pitch.getProbleme())
+                .solution(pitch.getSolution())
+                .cible(pitch.getCible())
+                .avantage(pitch.getAvantage())
+                .pitchGenere(pitch.getPitchGenere())
+                .type(pitch.getType())
+                .rating(pitch.getRating())
+                .isFavorite(pitch.getIsFavorite())
+                .createdAt(pitch.getCreatedAt())
+                .updatedAt(pitch.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,97 +1,245 @@
 package ma.startup.platform.pitchservice.service.impl;
 
-import org.springframework.transaction.annotation.Transactional;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.startup.platform.pitchservice.client.AuthServiceClient;
 import ma.startup.platform.pitchservice.client.StartupServiceClient;
 import ma.startup.platform.pitchservice.dto.*;
+import ma.startup.platform.pitchservice.exception.DeckNotSplittableException;
+import ma.startup.platform.pitchservice.exception.PitchNotDeckException;
 import ma.startup.platform.pitchservice.exception.PitchNotFoundException;
+import ma.startup.platform.pitchservice.model.DeckSection;
 import ma.startup.platform.pitchservice.model.Pitch;
+import ma.startup.platform.pitchservice.model.PitchSection;
 import ma.startup.platform.pitchservice.model.PitchType;
 import ma.startup.platform.pitchservice.repository.PitchRepository;
+import ma.startup.platform.pitchservice.repository.PitchSectionRepository;
+import ma.startup.platform.pitchservice.repository.PitchSummary;
+import ma.startup.platform.pitchservice.service.AIResponseCache;
 import ma.startup.platform.pitchservice.service.AIService;
+import ma.startup.platform.pitchservice.service.DeckGenerator;
 import ma.startup.platform.pitchservice.service.PitchService;
+import ma.startup.platform.pitchservice.service.PitchSimilarityIndex;
+import ma.startup.platform.pitchservice.service.PitchStatsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class PitchServiceImpl implements PitchService {
 
     private final PitchRepository pitchRepository;
+    private final PitchSectionRepository pitchSectionRepository;
+    private final DeckGenerator deckGenerator;
     private final AIService aiService; // ✅ CHANGEMENT: Utilise l'interface générique
     private final AuthServiceClient authServiceClient;
     private final StartupServiceClient startupServiceClient;
+    private final PitchStatsService pitchStatsService;
+    private final PitchSimilarityIndex similarityIndex;
+    private final AIResponseCache responseCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // Longueur de l'aperçu renvoyé par les listes
+    @Value("${pitch.list.preview-length:200}")
+    private int previewLength;
+
+    // Génération des variantes en parallèle; le débit réel reste borné par le gouverneur IA
+    @Value("${pitch.variants.workers:6}")
+    private int variantWorkers;
+
+    @Value("${pitch.variants.queue-capacity:60}")
+    private int variantQueueCapacity;
+
+    private ThreadPoolExecutor variantExecutor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        variantExecutor = new ThreadPoolExecutor(variantWorkers, variantWorkers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(variantQueueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "pitch-variant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        variantExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        variantExecutor.shutdownNow();
+    }
 
     @Override
-    public PitchResponseDTO generatePitch(PitchRequestDTO request, String authToken) {
-        log.info("Début de génération de pitch avec Hugging Face");
+    public PitchVariantsResponseDTO generateVariants(PitchVariantsRequestDTO request, boolean force, String authToken) {
+        List<PitchType> types = request.getTypes() == null || request.getTypes().isEmpty()
+                ? List.of(PitchType.values())
+                : new ArrayList<>(new LinkedHashSet<>(request.getTypes()));
+        log.info("Génération de {} variantes de pitch: {}", types.size(), types);
 
-        // 1. Vérifier l'utilisateur via Auth-Service
+        // Identité et startup résolues une seule fois pour toutes les variantes
         UserDTO user = authServiceClient.getCurrentUser(authToken);
-        log.info("Utilisateur vérifié: {}", user.getEmail());
-
-        // 2. Récupérer la startup via Startup-Service
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
-        log.info("Startup récupérée: {} (ID: {})", startup.getNom(), startup.getId());
-
-        // 3. Générer le pitch avec Hugging Face (AI Service)
-        String pitchGenere = aiService.generatePitch(
-                request.getProbleme(),
-                request.getSolution(),
-                request.getCible(),
-                request.getAvantage(),
-                startup,
-                PitchType.ELEVATOR
-        );
-        log.info("Pitch généré avec succès - Longueur: {} caractères", pitchGenere.length());
-
-        // 4. Sauvegarder en base de données
-        Pitch pitch = Pitch.builder()
-                .startupId(startup.getId())
-                .probleme(request.getProbleme())
-                .solution(request.getSolution())
-                .cible(request.getCible())
-                .avantage(request.getAvantage())
-                .pitchGenere(pitchGenere)
-                .type(PitchType.ELEVATOR)
-                .isFavorite(false)
+
+        // Les variantes tournent sur le pool: la demande de contournement du cache les suit
+        boolean bypass = responseCache.isBypassed();
+        Executor variants = task -> variantExecutor.execute(responseCache.bypassing(bypass, task));
+
+        // Variantes déjà générées pour une demande quasi identique: réutilisées sauf si force=true
+        AtomicReference<Map<DeckSection, String>> deckSections = new AtomicReference<>();
+        List<PitchResponseDTO> reusedPitchs = new ArrayList<>();
+        List<PitchType> reused = new ArrayList<>();
+        Map<PitchType, CompletableFuture<String>> futures = new EnumMap<>(PitchType.class);
+        for (PitchType type : types) {
+            if (!force) {
+                PitchSimilarityIndex.Match match = similarityIndex.findSimilar(startup.getId(), type,
+                        request.getProbleme(), request.getSolution(), request.getCible(), request.getAvantage()).orElse(null);
+                if (match != null) {
+                    reusedPitchs.add(mapToResponseDTO(match.pitch()));
+                    reused.add(type);
+                    continue;
+                }
+            }
+            if (type == PitchType.DECK) {
+                // Deck généré section par section, en parallèle
+                futures.put(type, CompletableFuture.supplyAsync(() -> {
+                    Map<DeckSection, String> sections = deckGenerator.generateSections(
+                            request.getProbleme(), request.getSolution(), request.getCible(), request.getAvantage(), startup);
+                    deckSections.set(sections);
+                    return DeckGenerator.assemble(sections);
+                }, variants));
+                continue;
+            }
+            futures.put(type, CompletableFuture.supplyAsync(() -> aiService.generatePitch(
+                    request.getProbleme(),
+                    request.getSolution(),
+                    request.getCible(),
+                    request.getAvantage(),
+                    startup,
+                    type
+            ), variants));
+        }
+
+        List<Pitch> pitchs = new ArrayList<>();
+        Map<PitchType, String> errors = new EnumMap<>(PitchType.class);
+        RuntimeException firstError = null;
+        for (Map.Entry<PitchType, CompletableFuture<String>> entry : futures.entrySet()) {
+            try {
+                pitchs.add(Pitch.builder()
+                        .startupId(startup.getId())
+                        .probleme(request.getProbleme())
+                        .solution(request.getSolution())
+                        .cible(request.getCible())
+                        .avantage(request.getAvantage())
+                        .pitchGenere(entry.getValue().join())
+                        .type(entry.getKey())
+                        .isFavorite(false)
+                        .build());
+            } catch (CompletionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime ? runtime : e;
+                log.warn("Échec de la variante {}: {}", entry.getKey(), cause.getMessage());
+                errors.put(entry.getKey(), cause.getMessage());
+                if (firstError == null) {
+                    firstError = cause;
+                }
+            }
+        }
+
+        // Aucune variante générée: remonter l'erreur d'origine (429 du gouverneur, panne IA...)
+        if (pitchs.isEmpty() && reused.isEmpty() && firstError != null) {
+            throw firstError;
+        }
+
+        List<Pitch> savedPitchs = pitchs.isEmpty() ? List.of() : createPitchs(pitchs, deckSections.get());
+        log.info("{} variantes sauvegardées, {} réutilisées, {} en échec", savedPitchs.size(), reused.size(), errors.size());
+
+        List<PitchResponseDTO> responses = new ArrayList<>(reusedPitchs);
+        savedPitchs.stream().map(this::mapToResponseDTO).forEach(responses::add);
+
+        return PitchVariantsResponseDTO.builder()
+                .pitchs(responses)
+                .reused(reused)
+                .errors(errors)
                 .build();
+    }
 
-        Pitch savedPitch = pitchRepository.save(pitch);
-        log.info("Pitch sauvegardé avec ID: {}", savedPitch.getId());
+    @Override
+    public Pitch createPitch(Pitch pitch, Map<DeckSection, String> deckSections) {
+        return createPitchs(List.of(pitch), deckSections).get(0);
+    }
 
-        return mapToResponseDTO(savedPitch);
+    @Override
+    public List<Pitch> createPitchs(List<Pitch> pitchs, Map<DeckSection, String> deckSections) {
+        return transactionTemplate.execute(status -> {
+            List<Pitch> saved = pitchRepository.saveAll(pitchs);
+            if (deckSections != null) {
+                saved.stream()
+                        .filter(pitch -> pitch.getType() == PitchType.DECK)
+                        .forEach(pitch -> saveSections(pitch.getId(), deckSections));
+            }
+            pitchStatsService.pitchsCreated(saved);
+            afterCommit(() -> saved.forEach(similarityIndex::put));
+            return saved;
+        });
+    }
+
+    /**
+     * Exécuter {@code action} une fois la transaction en cours validée, jamais si elle est annulée
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<PitchResponseDTO> getMyPitchs(String authToken) {
+    public List<PitchSummaryDTO> getMyPitchs(String authToken) {
         log.info("Récupération des pitchs");
 
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        List<Pitch> pitchs = pitchRepository.findByStartupIdOrderByCreatedAtDesc(startup.getId());
+        List<PitchSummary> pitchs = pitchRepository.findSummariesByStartupId(startup.getId(), previewLength + 1);
         log.info("Nombre de pitchs trouvés: {}", pitchs.size());
 
         return pitchs.stream()
-                .map(this::mapToResponseDTO)
+                .map(this::mapToSummaryDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional(readOnly = true)
     public PitchResponseDTO getPitchById(UUID pitchId, String authToken) {
         log.info("Récupération du pitch ID: {}", pitchId);
 
@@ -101,7 +249,61 @@ public class PitchServiceImpl implements PitchService {
         Pitch pitch = pitchRepository.findByIdAndStartupId(pitchId, startup.getId())
                 .orElseThrow(() -> new PitchNotFoundException(pitchId));
 
-        return mapToResponseDTO(pitch);
+        PitchResponseDTO response = mapToResponseDTO(pitch);
+        if (pitch.getType() == PitchType.DECK) {
+            response.setSections(mapToSectionDTOs(pitchSectionRepository.findByPitchId(pitchId)));
+        }
+        return response;
+    }
+
+    @Override
+    public PitchResponseDTO regenerateSection(UUID pitchId, DeckSection section, String instructions, String authToken) {
+        log.info("Régénération de la section {} du pitch ID: {}", section, pitchId);
+
+        UserDTO user = authServiceClient.getCurrentUser(authToken);
+        StartupDTO startup = startupServiceClient.getMyStartup(authToken);
+
+        Pitch pitch = pitchRepository.findByIdAndStartupId(pitchId, startup.getId())
+                .orElseThrow(() -> new PitchNotFoundException(pitchId));
+        if (pitch.getType() != PitchType.DECK) {
+            throw new PitchNotDeckException(pitchId);
+        }
+
+        // Seule la section demandée est générée, d'après son contenu actuel et les consignes
+        String contenuActuel = currentSections(pitch).get(section);
+        String contenu = deckGenerator.regenerateSection(
+                pitch.getProbleme(), pitch.getSolution(), pitch.getCible(), pitch.getAvantage(), startup,
+                section, contenuActuel, instructions);
+
+        // Relire pitch et sections sous verrou: une autre section régénérée entre-temps est conservée,
+        // seule la section demandée est remplacée avant de réassembler le texte
+        Pitch updatedPitch = transactionTemplate.execute(status -> {
+            Pitch current = pitchRepository.findByIdAndStartupIdForUpdate(pitchId, startup.getId())
+                    .orElseThrow(() -> new PitchNotFoundException(pitchId));
+            List<PitchSection> rows = pitchSectionRepository.findByPitchId(pitchId);
+            Map<DeckSection, String> contents = currentSections(current, rows);
+            contents.put(section, contenu);
+            current.setPitchGenere(DeckGenerator.assemble(contents));
+
+            Pitch saved = pitchRepository.save(current);
+            if (rows.isEmpty()) {
+                // Deck antérieur aux sections: ses sections découpées sont enregistrées une fois
+                saveSections(pitchId, contents);
+            } else {
+                PitchSection row = rows.stream()
+                        .filter(existing -> existing.getSection() == section)
+                        .findFirst()
+                        .orElseGet(() -> PitchSection.builder().pitchId(pitchId).section(section).build());
+                row.setContenu(contenu);
+                pitchSectionRepository.save(row);
+            }
+            return saved;
+        });
+        log.info("Section {} régénérée", section);
+
+        PitchResponseDTO response = mapToResponseDTO(updatedPitch);
+        response.setSections(mapToSectionDTOs(pitchSectionRepository.findByPitchId(pitchId)));
+        return response;
     }
 
     @Override
@@ -114,25 +316,40 @@ public class PitchServiceImpl implements PitchService {
         Pitch pitch = pitchRepository.findByIdAndStartupId(pitchId, startup.getId())
                 .orElseThrow(() -> new PitchNotFoundException(pitchId));
 
-        // Mettre à jour les champs
-        pitch.setProbleme(request.getProbleme());
-        pitch.setSolution(request.getSolution());
-        pitch.setCible(request.getCible());
-        pitch.setAvantage(request.getAvantage());
-
-        // Régénérer le pitch avec Hugging Face
-        String newPitch = aiService.generatePitch(
-                request.getProbleme(),
-                request.getSolution(),
-                request.getCible(),
-                request.getAvantage(),
-                startup,
-                pitch.getType()
-        );
-
-        pitch.setPitchGenere(newPitch);
-
-        Pitch updatedPitch = pitchRepository.save(pitch);
+        // Régénérer le pitch hors transaction: seule la sauvegarde touche la base
+        Map<DeckSection, String> sections = pitch.getType() == PitchType.DECK
+                ? deckGenerator.generateSections(request.getProbleme(), request.getSolution(),
+                        request.getCible(), request.getAvantage(), startup)
+                : null;
+        String newPitch = sections != null
+                ? DeckGenerator.assemble(sections)
+                : aiService.generatePitch(
+                        request.getProbleme(),
+                        request.getSolution(),
+                        request.getCible(),
+                        request.getAvantage(),
+                        startup,
+                        pitch.getType()
+                );
+
+        // Relire le pitch verrouillé et n'y copier que les champs saisis et le texte généré:
+        // un favori ou une note posés pendant la génération ne sont pas écrasés
+        Pitch updatedPitch = transactionTemplate.execute(status -> {
+            Pitch current = pitchRepository.findByIdAndStartupIdForUpdate(pitchId, startup.getId())
+                    .orElseThrow(() -> new PitchNotFoundException(pitchId));
+            current.setProbleme(request.getProbleme());
+            current.setSolution(request.getSolution());
+            current.setCible(request.getCible());
+            current.setAvantage(request.getAvantage());
+            current.setPitchGenere(newPitch);
+
+            Pitch saved = pitchRepository.save(current);
+            if (sections != null) {
+                saveSections(pitchId, sections);
+            }
+            return saved;
+        });
+        similarityIndex.put(updatedPitch);
         log.info("Pitch mis à jour avec succès");
 
         return mapToResponseDTO(updatedPitch);
@@ -145,11 +362,16 @@ public class PitchServiceImpl implements PitchService {
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        if (!pitchRepository.existsByIdAndStartupId(pitchId, startup.getId())) {
-            throw new PitchNotFoundException(pitchId);
-        }
+        Pitch deletedPitch = transactionTemplate.execute(status -> {
+            Pitch pitch = pitchRepository.findByIdAndStartupIdForUpdate(pitchId, startup.getId())
+                    .orElseThrow(() -> new PitchNotFoundException(pitchId));
 
-        pitchRepository.deleteById(pitchId);
+            pitchSectionRepository.deleteByPitchId(pitchId);
+            pitchRepository.delete(pitch);
+            pitchStatsService.pitchDeleted(pitch);
+            return pitch;
+        });
+        similarityIndex.remove(deletedPitch);
         log.info("Pitch supprimé avec succès");
     }
 
@@ -160,12 +382,18 @@ public class PitchServiceImpl implements PitchService {
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        Pitch pitch = pitchRepository.findByIdAndStartupId(pitchId, startup.getId())
-                .orElseThrow(() -> new PitchNotFoundException(pitchId));
+        // Ligne verrouillée: deux bascules concurrentes voient chacune l'état laissé par l'autre
+        Pitch updatedPitch = transactionTemplate.execute(status -> {
+            Pitch pitch = pitchRepository.findByIdAndStartupIdForUpdate(pitchId, startup.getId())
+                    .orElseThrow(() -> new PitchNotFoundException(pitchId));
 
-        pitch.setIsFavorite(!pitch.getIsFavorite());
+            boolean wasFavorite = Boolean.TRUE.equals(pitch.getIsFavorite());
+            pitch.setIsFavorite(!wasFavorite);
 
-        Pitch updatedPitch = pitchRepository.save(pitch);
+            Pitch saved = pitchRepository.save(pitch);
+            pitchStatsService.favoriteChanged(saved, wasFavorite);
+            return saved;
+        });
         log.info("Favori modifié: {}", updatedPitch.getIsFavorite());
 
         return mapToResponseDTO(updatedPitch);
@@ -182,76 +410,120 @@ public class PitchServiceImpl implements PitchService {
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        Pitch pitch = pitchRepository.findByIdAndStartupId(pitchId, startup.getId())
-                .orElseThrow(() -> new PitchNotFoundException(pitchId));
+        Pitch updatedPitch = transactionTemplate.execute(status -> {
+            Pitch pitch = pitchRepository.findByIdAndStartupIdForUpdate(pitchId, startup.getId())
+                    .orElseThrow(() -> new PitchNotFoundException(pitchId));
 
-        pitch.setRating(rating);
+            Integer previousRating = pitch.getRating();
+            pitch.setRating(rating);
 
-        Pitch updatedPitch = pitchRepository.save(pitch);
+            Pitch saved = pitchRepository.save(pitch);
+            pitchStatsService.ratingChanged(saved, previousRating);
+            return saved;
+        });
         log.info("Pitch noté avec succès");
 
         return mapToResponseDTO(updatedPitch);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<PitchResponseDTO> getFavoritePitchs(String authToken) {
+    public List<PitchSummaryDTO> getFavoritePitchs(String authToken) {
         log.info("Récupération des pitchs favoris");
 
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        List<Pitch> favoritePitchs = pitchRepository
-                .findByStartupIdAndIsFavoriteTrueOrderByCreatedAtDesc(startup.getId());
+        List<PitchSummary> favoritePitchs = pitchRepository
+                .findFavoriteSummariesByStartupId(startup.getId(), previewLength + 1);
 
         log.info("Nombre de pitchs favoris: {}", favoritePitchs.size());
 
         return favoritePitchs.stream()
-                .map(this::mapToResponseDTO)
+                .map(this::mapToSummaryDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Page<PitchResponseDTO> getMyPitchsPaginated(String authToken, Pageable pageable) {
+    public Page<PitchSummaryDTO> getMyPitchsPaginated(String authToken, Pageable pageable) {
         log.info("Récupération des pitchs avec pagination");
 
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        Page<Pitch> pitchsPage = pitchRepository.findByStartupId(startup.getId(), pageable);
+        Page<PitchSummary> pitchsPage = pitchRepository.findSummariesByStartupId(startup.getId(), previewLength + 1, pageable);
 
-        return pitchsPage.map(this::mapToResponseDTO);
+        return pitchsPage.map(this::mapToSummaryDTO);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public PitchStatsDTO getMyPitchStats(String authToken) {
         log.info("Récupération des statistiques des pitchs");
 
         UserDTO user = authServiceClient.getCurrentUser(authToken);
         StartupDTO startup = startupServiceClient.getMyStartup(authToken);
 
-        long totalPitchs = pitchRepository.countByStartupId(startup.getId());
-
-        List<Pitch> allPitchs = pitchRepository.findByStartupIdOrderByCreatedAtDesc(startup.getId());
-        long favoritePitchs = allPitchs.stream()
-                .filter(Pitch::getIsFavorite)
-                .count();
+        // Lecture d'une seule ligne par clé primaire, tenue à jour à chaque modification
+        return pitchStatsService.getStats(startup.getId());
+    }
 
-        Double averageRating = pitchRepository.getAverageRatingForStartup(startup.getId());
+    private Map<DeckSection, String> currentSections(Pitch pitch) {
+        return currentSections(pitch, pitchSectionRepository.findByPitchId(pitch.getId()));
+    }
 
-        Map<String, Long> pitchsByType = new HashMap<>();
-        List<Object[]> typeStats = pitchRepository.countByTypeForStartup(startup.getId());
-        for (Object[] stat : typeStats) {
-            pitchsByType.put(stat[0].toString(), (Long) stat[1]);
+    /**
+     * Sections enregistrées du deck ; pour un deck antérieur aux sections, découpage de son texte
+     */
+    private Map<DeckSection, String> currentSections(Pitch pitch, List<PitchSection> rows) {
+        if (rows.isEmpty()) {
+            return DeckGenerator.split(pitch.getPitchGenere())
+                    .orElseThrow(() -> new DeckNotSplittableException(pitch.getId()));
         }
+        Map<DeckSection, String> contents = new EnumMap<>(DeckSection.class);
+        rows.forEach(row -> contents.put(row.getSection(), row.getContenu()));
+        return contents;
+    }
 
-        return PitchStatsDTO.builder()
-                .totalPitchs(totalPitchs)
-                .favoritePitchs(favoritePitchs)
-                .averageRating(averageRating != null ? averageRating : 0.0)
-                .pitchsByType(pitchsByType)
+    /**
+     * Remplacer les sections d'un pitch deck (dans la transaction appelante)
+     */
+    private void saveSections(UUID pitchId, Map<DeckSection, String> contents) {
+        pitchSectionRepository.deleteByPitchId(pitchId);
+        pitchSectionRepository.saveAll(contents.entrySet().stream()
+                .map(entry -> PitchSection.builder()
+                        .pitchId(pitchId)
+                        .section(entry.getKey())
+                        .contenu(entry.getValue())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    private List<PitchSectionDTO> mapToSectionDTOs(List<PitchSection> sections) {
+        return sections.stream()
+                .sorted((a, b) -> a.getSection().compareTo(b.getSection()))
+                .map(section -> PitchSectionDTO.builder()
+                        .section(section.getSection())
+                        .titre(section.getSection().getTitre())
+                        .contenu(section.getContenu())
+                        .updatedAt(section.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private PitchSummaryDTO mapToSummaryDTO(PitchSummary pitch) {
+        // La requête lit un caractère de plus que l'aperçu pour savoir s'il est tronqué
+        String preview = pitch.getPreview() != null ? pitch.getPreview() : "";
+        boolean truncated = preview.length() > previewLength;
+
+        return PitchSummaryDTO.builder()
+                .id(pitch.getId())
+                .startupId(pitch.getStartupId())
+                .type(pitch.getType())
+                .preview(truncated ? preview.substring(0, previewLength) : preview)
+                .truncated(truncated)
+                .rating(pitch.getRating())
+                .isFavorite(pitch.getIsFavorite())
+                .createdAt(pitch.getCreatedAt())
+                .updatedAt(pitch.getUpdatedAt())
                 .build();
     }
 
@@ -0,0 +1,402 @@
+package ma.startup.platform.pitchservice.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.dto.StartupDTO;
+import ma.startup.platform.pitchservice.exception.AIException;
+import ma.startup.platform.pitchservice.exception.AIRateLimitException;
+import ma.startup.platform.pitchservice.model.DeckSection;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.service.AIResponseCache;
+import ma.startup.platform.pitchservice.service.AIService;
+import ma.startup.platform.pitchservice.service.PromptBuilder;
+import ma.startup.platform.pitchservice.service.provider.AICompletionRequest;
+import ma.startup.platform.pitchservice.service.provider.AIProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link AIService} répartissant les appels entre plusieurs {@link AIProvider}.
+ *
+ * Chaque provider a une fenêtre glissante de ses derniers appels (latence, succès). Les
+ * providers sains sont essayés du plus rapide au plus lent, puis ceux en erreur, puis les
+ * providers de secours ; un échec bascule sur le suivant. Un provider dont le taux d'erreur
+ * dépasse le seuil est écarté pendant {@code cooldown}, puis retenté. Une petite part du trafic
+ * est envoyée au second provider pour garder sa latence à jour.
+ */
+@Service
+@Slf4j
+public class RoutingAIService implements AIService {
+
+    private static final double TEMPERATURE = 0.7;
+    private static final int DEFAULT_MAX_TOKENS = 500;
+    private static final String KIND_IMPROVE = "IMPROVE";
+    private static final String KIND_SUGGESTIONS = "SUGGESTIONS";
+
+    private final List<AIProvider> providers;
+    private final Map<String, ProviderHealth> health = new LinkedHashMap<>();
+    private final PromptBuilder promptBuilder;
+    private final AIResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> maxOutputTokens = new HashMap<>();
+    private final int sectionMaxTokens;
+    private final double maxErrorRate;
+    private final int minSamples;
+    private final long cooldownMillis;
+    private final double exploreRatio;
+
+    public RoutingAIService(List<AIProvider> providers,
+                            PromptBuilder promptBuilder,
+                            AIResponseCache responseCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${ai.tokens.max-output.elevator:300}") int elevatorMaxTokens,
+                            @Value("${ai.tokens.max-output.value-prop:220}") int valuePropMaxTokens,
+                            @Value("${ai.tokens.max-output.deck-section:250}") int sectionMaxTokens,
+                            @Value("${ai.tokens.max-output.improve:600}") int improveMaxTokens,
+                            @Value("${ai.tokens.max-output.suggestions:400}") int suggestionsMaxTokens,
+                            @Value("${ai.routing.window:50}") int window,
+                            @Value("${ai.routing.max-error-rate:0.5}") double maxErrorRate,
+                            @Value("${ai.routing.min-samples:5}") int minSamples,
+                            @Value("${ai.routing.cooldown:30s}") Duration cooldown,
+                            @Value("${ai.routing.explore-ratio:0.05}") double exploreRatio) {
+        this.providers = providers;
+        this.promptBuilder = promptBuilder;
+        this.responseCache = responseCache;
+        this.meterRegistry = meterRegistry;
+        this.sectionMaxTokens = sectionMaxTokens;
+        this.maxOutputTokens.put(PitchType.ELEVATOR.name(), elevatorMaxTokens);
+        this.maxOutputTokens.put(PitchType.VALUE_PROP.name(), valuePropMaxTokens);
+        this.maxOutputTokens.put(KIND_IMPROVE, improveMaxTokens);
+        this.maxOutputTokens.put(KIND_SUGGESTIONS, suggestionsMaxTokens);
+        this.maxErrorRate = maxErrorRate;
+        this.minSamples = minSamples;
+        this.cooldownMillis = cooldown.toMillis();
+        this.exploreRatio = exploreRatio;
+
+        for (AIProvider provider : providers) {
+            health.put(provider.name(), new ProviderHealth(window));
+        }
+        log.info("Providers IA disponibles: {}", providers.stream()
+                .filter(AIProvider::isAvailable)
+                .map(AIProvider::name)
+                .toList());
+    }
+
+    @Override
+    public String generatePitch(
+            String probleme,
+            String solution,
+            String cible,
+            String avantage,
+            StartupDTO startup,
+            PitchType type
+    ) {
+        String prompt = promptBuilder.pitchPrompt(probleme, solution, cible, avantage, startup, type);
+        return promptBuilder.cleanResponse(complete(request(type.name(), prompt)));
+    }
+
+    @Override
+    public String generateDeckSection(
+            String probleme,
+            String solution,
+            String cible,
+            String avantage,
+            StartupDTO startup,
+            DeckSection section,
+            String contenuActuel,
+            String instructions
+    ) {
+        String prompt = promptBuilder.deckSectionPrompt(probleme, solution, cible, avantage, startup,
+                section, contenuActuel, instructions);
+        return promptBuilder.cleanResponse(complete(
+                new AICompletionRequest("DECK_" + section.name(), prompt, TEMPERATURE, sectionMaxTokens)));
+    }
+
+    @Override
+    public String improvePitch(String pitchExistant, String suggestions) {
+        String prompt = promptBuilder.improvePrompt(pitchExistant, suggestions);
+        return promptBuilder.cleanResponse(complete(request(KIND_IMPROVE, prompt)));
+    }
+
+    @Override
+    public String generateSuggestions(String pitch) {
+        String prompt = promptBuilder.suggestionsPrompt(pitch);
+        return promptBuilder.cleanResponse(complete(request(KIND_SUGGESTIONS, prompt)));
+    }
+
+    @Override
+    public String streamPitch(
+            String probleme,
+            String solution,
+            String cible,
+            String avantage,
+            StartupDTO startup,
+            PitchType type,
+            Consumer<String> onToken
+    ) {
+        String prompt = promptBuilder.pitchPrompt(probleme, solution, cible, avantage, startup, type);
+        return promptBuilder.cleanResponse(stream(request(type.name(), prompt), onToken));
+    }
+
+    @Override
+    public String streamImprovePitch(String pitchExistant, String suggestions, Consumer<String> onToken) {
+        String prompt = promptBuilder.improvePrompt(pitchExistant, suggestions);
+        return promptBuilder.cleanResponse(stream(request(KIND_IMPROVE, prompt), onToken));
+    }
+
+    @Override
+    public String streamSuggestions(String pitch, Consumer<String> onToken) {
+        String prompt = promptBuilder.suggestionsPrompt(pitch);
+        return promptBuilder.cleanResponse(stream(request(KIND_SUGGESTIONS, prompt), onToken));
+    }
+
+    /**
+     * Requête avec le max_tokens propre au type de génération
+     */
+    private AICompletionRequest request(String kind, String prompt) {
+        return new AICompletionRequest(kind, prompt, TEMPERATURE, maxOutputTokens.getOrDefault(kind, DEFAULT_MAX_TOKENS));
+    }
+
+    private String complete(AICompletionRequest request) {
+        RuntimeException lastError = null;
+        for (AIProvider provider : rankedProviders()) {
+            try {
+                if (provider.isFallbackOnly()) {
+                    return timed(provider, () -> provider.complete(request));
+                }
+                String key = cacheKey(provider, request);
+                return responseCache.getOrGenerate(key, request.kind(), provider.model(),
+                        () -> timed(provider, () -> provider.complete(request)));
+            } catch (AIRateLimitException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("Provider {} en échec ({}), bascule sur le suivant", provider.name(), e.getMessage());
+                lastError = e;
+            }
+        }
+        throw new AIException("Aucun provider IA n'a pu répondre", lastError);
+    }
+
+    /**
+     * Bascule possible tant qu'aucun fragment n'a été transmis ; ensuite l'erreur est remontée
+     */
+    private String stream(AICompletionRequest request, Consumer<String> onToken) {
+        RuntimeException lastError = null;
+        for (AIProvider provider : rankedProviders()) {
+            AtomicBoolean started = new AtomicBoolean();
+            Consumer<String> tracking = token -> {
+                started.set(true);
+                try {
+                    onToken.accept(token);
+                } catch (RuntimeException e) {
+                    throw new ClientAbortedException(e);
+                }
+            };
+
+            try {
+                if (provider.isFallbackOnly()) {
+                    return timed(provider, () -> provider.stream(request, tracking));
+                }
+                String key = cacheKey(provider, request);
+                Optional<String> cached = responseCache.get(key);
+                if (cached.isPresent()) {
+                    tracking.accept(cached.get());
+                    return cached.get();
+                }
+                String response = timed(provider, () -> provider.stream(request, tracking));
+                responseCache.put(key, request.kind(), provider.model(), response);
+                return response;
+            } catch (AIRateLimitException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                ClientAbortedException aborted = findAbort(e);
+                if (aborted != null) {
+                    throw (RuntimeException) aborted.getCause();
+                }
+                if (started.get()) {
+                    throw new AIException("Flux IA interrompu (" + provider.name() + ")", e);
+                }
+                log.warn("Provider {} en échec ({}), bascule sur le suivant", provider.name(), e.getMessage());
+                lastError = e;
+            }
+        }
+        throw new AIException("Aucun provider IA n'a pu répondre", lastError);
+    }
+
+    private String cacheKey(AIProvider provider, AICompletionRequest request) {
+        return responseCache.key(request.kind(), provider.model(), request.temperature(),
+                request.maxTokens(), request.prompt());
+    }
+
+    /**
+     * Exécute l'appel en alimentant la fenêtre de santé du provider et ses métriques.
+     * Une déconnexion du client n'est pas comptée comme une erreur du provider. Les providers
+     * distants passent par le gouverneur à chaque tentative HTTP
+     * (voir {@link ma.startup.platform.pitchservice.client.AIRetryPolicy}).
+     */
+    private String timed(AIProvider provider, Supplier<String> call) {
+        ProviderHealth providerHealth = health.get(provider.name());
+        long start = System.nanoTime();
+        try {
+            String response = call.get();
+            long elapsed = System.nanoTime() - start;
+            providerHealth.record(elapsed, true);
+            timer(provider, "success").record(Duration.ofNanos(elapsed));
+            return response;
+        } catch (RuntimeException e) {
+            if (findAbort(e) == null) {
+                long elapsed = System.nanoTime() - start;
+                providerHealth.record(elapsed, false);
+                timer(provider, "error").record(Duration.ofNanos(elapsed));
+                if (providerHealth.errorRate() > maxErrorRate && providerHealth.samples() >= minSamples) {
+                    providerHealth.suspendUntil(System.currentTimeMillis() + cooldownMillis);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private List<AIProvider> rankedProviders() {
+        long now = System.currentTimeMillis();
+        List<AIProvider> healthy = new ArrayList<>();
+        List<AIProvider> degraded = new ArrayList<>();
+        List<AIProvider> fallbacks = new ArrayList<>();
+
+        for (AIProvider provider : providers) {
+            if (!provider.isAvailable()) {
+                continue;
+            }
+            if (provider.isFallbackOnly()) {
+                fallbacks.add(provider);
+            } else if (health.get(provider.name()).isHealthy(now)) {
+                healthy.add(provider);
+            } else {
+                degraded.add(provider);
+            }
+        }
+
+        // Providers sans mesure en tête, pour obtenir une première latence
+        healthy.sort(Comparator.comparingDouble(provider -> health.get(provider.name()).averageLatencyNanos()));
+        if (healthy.size() > 1 && ThreadLocalRandom.current().nextDouble() < exploreRatio) {
+            healthy.add(0, healthy.remove(1));
+        }
+
+        List<AIProvider> ranked = new ArrayList<>(healthy);
+        ranked.addAll(degraded);
+        ranked.addAll(fallbacks);
+        if (ranked.isEmpty()) {
+            throw new AIException("Aucun provider IA configuré");
+        }
+        return ranked;
+    }
+
+    private Timer timer(AIProvider provider, String outcome) {
+        return Timer.builder("pitch.ai.provider.calls")
+                .description("Appels aux providers IA")
+                .tag("provider", provider.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static ClientAbortedException findAbort(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ClientAbortedException aborted) {
+                return aborted;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Levée quand le consommateur des fragments échoue (client déconnecté), pour la distinguer
+     * d'une erreur du provider
+     */
+    private static final class ClientAbortedException extends RuntimeException {
+        private ClientAbortedException(RuntimeException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Fenêtre glissante des derniers appels d'un provider
+     */
+    private static final class ProviderHealth {
+        private final long[] latencies;
+        private final boolean[] successes;
+        private int next;
+        private int size;
+        private long suspendedUntil;
+
+        private ProviderHealth(int window) {
+            this.latencies = new long[Math.max(1, window)];
+            this.successes = new boolean[latencies.length];
+        }
+
+        synchronized void record(long latencyNanos, boolean success) {
+            latencies[next] = latencyNanos;
+            successes[next] = success;
+            next = (next + 1) % latencies.length;
+            size = Math.min(size + 1, latencies.length);
+        }
+
+        synchronized void suspendUntil(long epochMillis) {
+            suspendedUntil = epochMillis;
+            // Repartir d'une fenêtre vide après le cooldown, pour ne pas être suspendu aussitôt
+            size = 0;
+            next = 0;
+        }
+
+        synchronized boolean isHealthy(long nowMillis) {
+            return nowMillis >= suspendedUntil;
+        }
+
+        synchronized int samples() {
+            return size;
+        }
+
+        synchronized double errorRate() {
+            if (size == 0) {
+                return 0.0;
+            }
+            int errors = 0;
+            for (int i = 0; i < size; i++) {
+                if (!successes[i]) {
+                    errors++;
+                }
+            }
+            return (double) errors / size;
+        }
+
+        /**
+         * Latence moyenne des succès ; 0 sans mesure, pour qu'un provider neuf soit essayé
+         */
+        synchronized double averageLatencyNanos() {
+            long total = 0;
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (successes[i]) {
+                    total += latencies[i];
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return size == 0 ? 0.0 : Double.MAX_VALUE;
+            }
+            return (double) total / count;
+        }
+    }
+}
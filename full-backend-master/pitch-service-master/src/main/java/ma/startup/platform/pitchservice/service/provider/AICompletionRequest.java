@@ -0,0 +1,12 @@
+package ma.startup.platform.pitchservice.service.provider;
+
+/**
+ * Requête envoyée à un provider IA
+ *
+ * @param kind        type de génération (PitchType, IMPROVE, SUGGESTIONS), pour le cache et les métriques
+ * @param prompt      prompt complet
+ * @param temperature température d'échantillonnage
+ * @param maxTokens   nombre maximal de tokens générés
+ */
+public record AICompletionRequest(String kind, String prompt, double temperature, int maxTokens) {
+}
@@ -0,0 +1,45 @@
+package ma.startup.platform.pitchservice.service.provider;
+
+import java.util.function.Consumer;
+
+/**
+ * Adaptateur vers un fournisseur de modèles de langage.
+ * Le choix du provider, le cache et le nettoyage des réponses sont faits par le routeur.
+ */
+public interface AIProvider {
+
+    /**
+     * Nom court, utilisé dans les logs et les métriques
+     */
+    String name();
+
+    /**
+     * Modèle utilisé, qui fait partie de la clé de cache
+     */
+    String model();
+
+    /**
+     * Le provider est-il configuré (clé API présente, activé) ?
+     */
+    boolean isAvailable();
+
+    /**
+     * Un provider de secours n'est utilisé que si tous les autres ont échoué
+     */
+    default boolean isFallbackOnly() {
+        return false;
+    }
+
+    /**
+     * Génération complète, réponse brute du modèle
+     */
+    String complete(AICompletionRequest request);
+
+    /**
+     * Génération en streaming : chaque fragment est transmis à {@code onToken} dès sa réception.
+     * Une exception levée par {@code onToken} doit interrompre la génération.
+     *
+     * @return le texte complet
+     */
+    String stream(AICompletionRequest request, Consumer<String> onToken);
+}
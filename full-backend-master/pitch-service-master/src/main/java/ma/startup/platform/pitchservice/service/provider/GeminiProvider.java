@@ -0,0 +1,154 @@
+package ma.startup.platform.pitchservice.service.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.client.AIRetryPolicy;
+import ma.startup.platform.pitchservice.dto.GeminiRequestDTO;
+import ma.startup.platform.pitchservice.exception.GeminiApiException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Provider Gemini via l'API REST generateContent (Google AI / Vertex), sans SDK.
+ * Le streaming utilise streamGenerateContent?alt=sse.
+ */
+@Component
+@Order(2)
+@Slf4j
+public class GeminiProvider implements AIProvider {
+
+    @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta}")
+    private String apiUrl;
+
+    @Value("${gemini.api.key:}")
+    private String apiKey;
+
+    @Value("${gemini.model:gemini-1.5-flash}")
+    private String model;
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final AIRetryPolicy retryPolicy;
+
+    public GeminiProvider(@Qualifier("aiRestTemplate") RestTemplate restTemplate,
+                          AIRetryPolicy retryPolicy) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = new ObjectMapper();
+        this.retryPolicy = retryPolicy;
+    }
+
+    @Override
+    public String name() {
+        return "gemini";
+    }
+
+    @Override
+    public String model() {
+        return model;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public String complete(AICompletionRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("x-goog-api-key", apiKey);
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(buildRequestBody(request), headers);
+
+        ResponseEntity<String> response = retryPolicy.execute("Appel Gemini", request, () -> restTemplate.exchange(
+                apiUrl + "/models/" + model + ":generateContent",
+                HttpMethod.POST,
+                entity,
+                String.class
+        ));
+
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            try {
+                return extractText(objectMapper.readTree(response.getBody()));
+            } catch (Exception e) {
+                throw new GeminiApiException("Parsing impossible", e);
+            }
+        }
+
+        throw new GeminiApiException("Réponse Gemini invalide");
+    }
+
+    @Override
+    public String stream(AICompletionRequest request, Consumer<String> onToken) {
+        Map<String, Object> requestBody = buildRequestBody(request);
+        AtomicBoolean started = new AtomicBoolean();
+
+        return retryPolicy.execute("Streaming Gemini", request, () -> restTemplate.execute(
+                apiUrl + "/models/" + model + ":streamGenerateContent?alt=sse", HttpMethod.POST,
+                httpRequest -> {
+                    httpRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    httpRequest.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                    httpRequest.getHeaders().set("x-goog-api-key", apiKey);
+                    httpRequest.getBody().write(objectMapper.writeValueAsBytes(requestBody));
+                },
+                response -> {
+                    StringBuilder text = new StringBuilder();
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.startsWith("data:")) {
+                            continue;
+                        }
+                        String token = extractText(objectMapper.readTree(line.substring(5).trim()));
+                        if (!token.isEmpty()) {
+                            text.append(token);
+                            started.set(true);
+                            onToken.accept(token);
+                        }
+                    }
+                    return text.toString();
+                }), () -> !started.get());
+    }
+
+    private Map<String, Object> buildRequestBody(AICompletionRequest request) {
+        GeminiRequestDTO content = GeminiRequestDTO.builder()
+                .contents(List.of(GeminiRequestDTO.Content.builder()
+                        .parts(List.of(GeminiRequestDTO.Part.builder().text(request.prompt()).build()))
+                        .build()))
+                .build();
+
+        return Map.of(
+                "contents", content.getContents(),
+                "generationConfig", Map.of(
+                        "temperature", request.temperature(),
+                        "maxOutputTokens", request.maxTokens()
+                )
+        );
+    }
+
+    /**
+     * Concatène candidates[0].content.parts[*].text
+     */
+    private String extractText(JsonNode root) {
+        JsonNode parts = root.path("candidates").path(0).path("content").path("parts");
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : parts) {
+            text.append(part.path("text").asText(""));
+        }
+        return text.toString();
+    }
+}
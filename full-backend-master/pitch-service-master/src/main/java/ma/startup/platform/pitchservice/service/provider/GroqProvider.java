@@ -0,0 +1,202 @@
+package ma.startup.platform.pitchservice.service.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ma.startup.platform.pitchservice.client.AIRetryPolicy;
+import ma.startup.platform.pitchservice.exception.AIException;
+import ma.startup.platform.pitchservice.service.AIUsageMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Provider utilisant l'API Groq (ULTRA RAPIDE ET GRATUIT)
+ * https://console.groq.com
+ *
+ * API compatible OpenAI (chat/completions), en mode complet ou stream.
+ */
+@Component
+@Order(1)
+@Slf4j
+public class GroqProvider implements AIProvider {
+
+    @Value("${groq.api.url:https://api.groq.com/openai/v1/chat/completions}")
+    private String apiUrl;
+
+    @Value("${groq.api.key:}")
+    private String apiKey;
+
+    @Value("${groq.model:llama3-8b-8192}")
+    private String model;
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final AIRetryPolicy retryPolicy;
+    private final AIUsageMetrics usageMetrics;
+
+    public GroqProvider(@Qualifier("aiRestTemplate") RestTemplate restTemplate,
+                        AIRetryPolicy retryPolicy,
+                        AIUsageMetrics usageMetrics) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = new ObjectMapper();
+        this.retryPolicy = retryPolicy;
+        this.usageMetrics = usageMetrics;
+    }
+
+    @Override
+    public String name() {
+        return "groq";
+    }
+
+    @Override
+    public String model() {
+        return model;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public String complete(AICompletionRequest request) {
+        Map<String, Object> requestBody = buildRequestBody(request, false);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", "Bearer " + apiKey);
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+
+        ResponseEntity<String> response = retryPolicy.execute("Appel Groq", request, () -> restTemplate.exchange(
+                apiUrl,
+                HttpMethod.POST,
+                entity,
+                String.class
+        ));
+
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            return extractResponse(request, response.getBody());
+        }
+
+        throw new AIException("Réponse Groq invalide");
+    }
+
+    /**
+     * Groq renvoie des lignes "data: {...}" jusqu'à "data: [DONE]".
+     * L'appel n'est rejoué que si aucun fragment n'a encore été transmis.
+     */
+    @Override
+    public String stream(AICompletionRequest request, Consumer<String> onToken) {
+        Map<String, Object> requestBody = buildRequestBody(request, true);
+        AtomicBoolean started = new AtomicBoolean();
+
+        return retryPolicy.execute("Streaming Groq", request, () -> restTemplate.execute(apiUrl, HttpMethod.POST,
+                httpRequest -> {
+                    httpRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    httpRequest.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                    httpRequest.getHeaders().set("Authorization", "Bearer " + apiKey);
+                    httpRequest.getBody().write(objectMapper.writeValueAsBytes(requestBody));
+                },
+                response -> {
+                    StringBuilder text = new StringBuilder();
+                    JsonNode usage = null;
+                    String finishReason = null;
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.startsWith("data:")) {
+                            continue;
+                        }
+                        String data = line.substring(5).trim();
+                        if ("[DONE]".equals(data)) {
+                            break;
+                        }
+                        JsonNode chunk = objectMapper.readTree(data);
+                        // L'usage arrive dans le dernier fragment (x_groq.usage, ou usage au format OpenAI)
+                        JsonNode chunkUsage = chunk.path("x_groq").path("usage");
+                        if (chunkUsage.isMissingNode()) {
+                            chunkUsage = chunk.path("usage");
+                        }
+                        if (chunkUsage.isObject()) {
+                            usage = chunkUsage;
+                        }
+                        JsonNode choices = chunk.path("choices");
+                        if (choices.isArray() && choices.size() > 0) {
+                            if (choices.get(0).hasNonNull("finish_reason")) {
+                                finishReason = choices.get(0).path("finish_reason").asText();
+                            }
+                            String token = choices.get(0).path("delta").path("content").asText("");
+                            if (!token.isEmpty()) {
+                                text.append(token);
+                                started.set(true);
+                                onToken.accept(token);
+                            }
+                        }
+                    }
+                    recordUsage(request, usage, finishReason);
+                    return text.toString();
+                }), () -> !started.get());
+    }
+
+    private Map<String, Object> buildRequestBody(AICompletionRequest request, boolean stream) {
+        // Format OpenAI-compatible
+        Map<String, Object> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", request.prompt());
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", List.of(message));
+        requestBody.put("temperature", request.temperature());
+        requestBody.put("max_tokens", request.maxTokens());
+        requestBody.put("top_p", 1);
+        requestBody.put("stream", stream);
+        return requestBody;
+    }
+
+    private String extractResponse(AICompletionRequest request, String jsonResponse) {
+        try {
+            JsonNode root = objectMapper.readTree(jsonResponse);
+            JsonNode choices = root.path("choices");
+
+            if (choices.isArray() && choices.size() > 0) {
+                recordUsage(request, root.path("usage"), choices.get(0).path("finish_reason").asText(null));
+                return choices.get(0)
+                        .path("message")
+                        .path("content")
+                        .asText();
+            }
+        } catch (Exception e) {
+            throw new AIException("Parsing impossible", e);
+        }
+        throw new AIException("Format réponse invalide");
+    }
+
+    /**
+     * Usage réel renvoyé par Groq (prompt_tokens, completion_tokens), comparé à l'estimation locale
+     */
+    private void recordUsage(AICompletionRequest request, JsonNode usage, String finishReason) {
+        if (usage == null || !usage.isObject()) {
+            return;
+        }
+        usageMetrics.record(name(), request,
+                usage.path("prompt_tokens").asInt(),
+                usage.path("completion_tokens").asInt(),
+                finishReason);
+    }
+}
@@ -0,0 +1,78 @@
+package ma.startup.platform.pitchservice.service.provider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Provider local déterministe, sans réseau : la même requête donne toujours le même texte.
+ * Désactivé par défaut ; une fois activé, il ne sert qu'en dernier recours (développement
+ * hors ligne, démonstrations, tests de charge).
+ */
+@Component
+@Order(100)
+public class LocalStubProvider implements AIProvider {
+
+    private static final String[] SENTENCES = {
+            "Notre start-up répond à un problème concret rencontré chaque jour par sa cible.",
+            "La solution proposée est simple à adopter et mesurable dès le premier mois.",
+            "Le marché visé est en forte croissance et encore peu équipé.",
+            "Notre avantage repose sur une technologie propriétaire et une équipe expérimentée.",
+            "Nous recherchons des partenaires pour accélérer notre déploiement.",
+            "Les premiers clients pilotes confirment l'intérêt et la valeur de l'offre."
+    };
+
+    @Value("${ai.providers.local-stub.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public String name() {
+        return "local-stub";
+    }
+
+    @Override
+    public String model() {
+        return "local-stub";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isFallbackOnly() {
+        return true;
+    }
+
+    @Override
+    public String complete(AICompletionRequest request) {
+        return cannedText(request.kind() + request.prompt());
+    }
+
+    /**
+     * Texte déterministe pour une graine donnée ; partagé avec le faux endpoint Groq
+     */
+    public static String cannedText(String seedText) {
+        int seed = Math.floorMod(seedText.hashCode(), SENTENCES.length);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(SENTENCES[(seed + i) % SENTENCES.length]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String stream(AICompletionRequest request, Consumer<String> onToken) {
+        String text = complete(request);
+        for (String token : text.split("(?<= )")) {
+            onToken.accept(token);
+        }
+        return text;
+    }
+}
@@ -0,0 +1,85 @@
+package ma.startup.platform.pitchservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.startup.platform.pitchservice.exception.AIRateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Seau de 1000 tokens/minute et 50 ms d'attente au plus : une demande passe seulement si le
+ * solde la couvre déjà.
+ */
+class AIGovernorTests {
+
+    private final AIGovernor governor = new AIGovernor(new SimpleMeterRegistry(),
+            true, 4, 10, Duration.ofMillis(50), 100, 1000);
+
+    @Test
+    void unusedOutputTokensAreGivenBackAfterTheCall() {
+        assertThat(governor.execute(900, () -> "réponse courte", response -> 100)).isEqualTo("réponse courte");
+
+        assertThat(governor.execute(900, () -> "suivante", response -> 100)).isEqualTo("suivante");
+    }
+
+    @Test
+    void withoutSettlementTheFullEstimateStaysCharged() {
+        governor.execute(900, () -> "réponse");
+
+        assertThatThrownBy(() -> governor.execute(900, () -> "refusée"))
+                .isInstanceOf(AIRateLimitException.class);
+    }
+
+    @Test
+    void usageAboveTheEstimateIsChargedAfterTheCall() {
+        governor.execute(100, () -> "longue réponse", response -> 900);
+
+        assertThatThrownBy(() -> governor.execute(200, () -> "refusée"))
+                .isInstanceOf(AIRateLimitException.class);
+    }
+
+    @Test
+    void prepaidCallsAreSettledAgainstTheirShareOfTheReservation() {
+        try (AIGovernor.Reservation reservation = governor.reserve(2, 800)) {
+            for (int i = 0; i < 2; i++) {
+                governor.prepaid(reservation, () -> governor.execute(400, () -> "section", response -> 100)).run();
+            }
+        }
+
+        // 2 x 300 tokens rendus : 800 restants sur 1000
+        assertThat(governor.execute(750, () -> "ok", response -> 750)).isEqualTo("ok");
+    }
+
+    @Test
+    void reservationLargerThanTheBalanceIsRefusedWhole() {
+        governor.execute(600, () -> "réponse");
+
+        assertThatThrownBy(() -> governor.reserve(8, 500))
+                .isInstanceOf(AIRateLimitException.class);
+        assertThat(governor.execute(350, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void reservationIsRefusedWhenTheQueueIsFull() {
+        AIGovernor noQueue = new AIGovernor(new SimpleMeterRegistry(),
+                true, 4, 0, Duration.ofMillis(50), 100, 1000);
+
+        assertThatThrownBy(() -> noQueue.reserve(8, 500))
+                .isInstanceOf(AIRateLimitException.class)
+                .hasMessageContaining("en attente");
+    }
+
+    @Test
+    void reservationLeavesTheQueueOnceServed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AIGovernor single = new AIGovernor(registry, true, 4, 1, Duration.ofMillis(50), 100, 1000);
+
+        single.reserve(2, 200).close();
+        single.reserve(2, 200).close();
+
+        assertThat(registry.get("pitch.ai.governor.queue").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,57 @@
+package ma.startup.platform.pitchservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.startup.platform.pitchservice.repository.AIResponseCacheRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AIResponseCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AIResponseCache cache = new AIResponseCache(mock(AIResponseCacheRepository.class),
+            registry, true, Duration.ofHours(1), 100);
+
+    @Test
+    void waitingOnAnInFlightGenerationIsCountedAsCoalesced() throws Exception {
+        AtomicInteger generations = new AtomicInteger();
+        CompletableFuture<String> follower = new CompletableFuture<>();
+
+        String response = cache.getOrGenerate("k", "pitch", "model", () -> {
+            generations.incrementAndGet();
+            CompletableFuture.runAsync(() -> follower.complete(
+                    cache.getOrGenerate("k", "pitch", "model", () -> "jamais appelé")));
+            // Rendre la main seulement une fois le second appel inscrit sur cette génération
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (lookups("coalesced") < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return "réponse";
+        });
+
+        assertThat(follower.get(2, TimeUnit.SECONDS)).isEqualTo(response).isEqualTo("réponse");
+        assertThat(generations).hasValue(1);
+        assertThat(lookups("coalesced")).isEqualTo(1);
+        assertThat(lookups("memory_hit")).isZero();
+        assertThat(lookups("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void laterCallIsAMemoryHit() {
+        cache.getOrGenerate("k", "pitch", "model", () -> "réponse");
+
+        assertThat(cache.getOrGenerate("k", "pitch", "model", () -> "autre")).isEqualTo("réponse");
+        assertThat(lookups("memory_hit")).isEqualTo(1);
+        assertThat(lookups("coalesced")).isZero();
+    }
+
+    private double lookups(String result) {
+        return registry.get("pitch.ai.cache.lookups").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,58 @@
+package ma.startup.platform.pitchservice.service;
+
+import ma.startup.platform.pitchservice.model.DeckSection;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeckGeneratorSplitTests {
+
+    @Test
+    void splitReadsBackAnAssembledDeck() {
+        Map<DeckSection, String> contents = new EnumMap<>(DeckSection.class);
+        for (DeckSection section : DeckSection.values()) {
+            contents.put(section, "- Point sur " + section.getTitre() + "\n- Second point");
+        }
+
+        assertThat(DeckGenerator.split(DeckGenerator.assemble(contents))).contains(contents);
+    }
+
+    @Test
+    void splitAcceptsDecoratedAndNumberedHeadings() {
+        StringBuilder text = new StringBuilder("Voici le pitch deck :\n\n");
+        int number = 1;
+        for (DeckSection section : DeckSection.values()) {
+            text.append("**").append(number++).append(". ").append(section.getTitre().toUpperCase()).append(" :**\n")
+                    .append("Contenu ").append(section.name()).append("\n\n");
+        }
+
+        Map<DeckSection, String> contents = DeckGenerator.split(text.toString()).orElseThrow();
+
+        assertThat(contents).hasSize(DeckSection.values().length);
+        assertThat(contents.get(DeckSection.EQUIPE)).isEqualTo("Contenu EQUIPE");
+        assertThat(contents.get(DeckSection.MODELE_ECONOMIQUE)).isEqualTo("Contenu MODELE_ECONOMIQUE");
+    }
+
+    @Test
+    void splitRejectsADeckWithoutEverySection() {
+        String text = "## Problème\n\nUn problème.\n\n## Solution\n\nUne solution.";
+
+        assertThat(DeckGenerator.split(text)).isEmpty();
+    }
+
+    @Test
+    void splitRejectsARepeatedOrEmptySection() {
+        Map<DeckSection, String> contents = new EnumMap<>(DeckSection.class);
+        for (DeckSection section : DeckSection.values()) {
+            contents.put(section, "Contenu");
+        }
+        String assembled = DeckGenerator.assemble(contents);
+
+        assertThat(DeckGenerator.split(assembled + "\n\n## Problème\n\nEncore")).isEmpty();
+        assertThat(DeckGenerator.split(assembled.replace("## Marché\n\nContenu", "## Marché\n\n"))).isEmpty();
+        assertThat(DeckGenerator.split(null)).isEmpty();
+    }
+}
@@ -0,0 +1,163 @@
+package ma.startup.platform.pitchservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.startup.platform.pitchservice.model.Pitch;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.repository.PitchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PitchSimilarityIndexTests {
+
+    private static final UUID STARTUP_ID = UUID.randomUUID();
+
+    private static final String PROBLEME = "Les petits commerçants marocains n'ont pas accès au crédit bancaire "
+            + "faute d'historique financier exploitable par les banques traditionnelles.";
+    private static final String SOLUTION = "Une application mobile qui analyse les ventes encaissées par QR code "
+            + "et calcule un score de crédit partagé avec des institutions de microfinance partenaires.";
+    private static final String CIBLE = "Épiciers, cafés et petits commerces de quartier à Casablanca et Rabat.";
+    private static final String AVANTAGE = "Score calculé en temps réel à partir de données de paiement réelles, "
+            + "sans dossier papier ni garantie.";
+
+    private final PitchRepository pitchRepository = mock(PitchRepository.class);
+    private final List<Object[]> storedInputs = new ArrayList<>();
+    private Pitch existing;
+
+    @BeforeEach
+    void storeExistingPitch() {
+        existing = Pitch.builder()
+                .id(UUID.randomUUID())
+                .startupId(STARTUP_ID)
+                .type(PitchType.ELEVATOR)
+                .probleme(PROBLEME)
+                .solution(SOLUTION)
+                .cible(CIBLE)
+                .avantage(AVANTAGE)
+                .build();
+        storedInputs.add(new Object[]{existing.getId(), existing.getType(), PROBLEME, SOLUTION, CIBLE, AVANTAGE});
+        when(pitchRepository.findInputsByStartupId(STARTUP_ID)).thenReturn(storedInputs);
+        when(pitchRepository.findByIdAndStartupId(existing.getId(), STARTUP_ID)).thenReturn(Optional.of(existing));
+    }
+
+    @Test
+    void signatureIgnoresCaseAccentsAndPunctuation() {
+        PitchSimilarityIndex index = index(0.85);
+
+        assertThat(index.signature(PROBLEME, SOLUTION, CIBLE, AVANTAGE))
+                .isEqualTo(index.signature(PROBLEME.toUpperCase(), SOLUTION.replace(",", " ;"),
+                        "Epiciers cafes et petits commerces de quartier a Casablanca et Rabat", AVANTAGE));
+    }
+
+    @Test
+    void nearIdenticalRequestOfTheSameTypeReusesTheExistingPitch() {
+        PitchSimilarityIndex index = index(0.85);
+
+        Optional<PitchSimilarityIndex.Match> match = index.findSimilar(STARTUP_ID, PitchType.ELEVATOR,
+                PROBLEME, SOLUTION, CIBLE, AVANTAGE.replace("réelles", "vérifiées"));
+
+        assertThat(match).isPresent();
+        assertThat(match.get().pitch()).isSameAs(existing);
+        assertThat(match.get().similarity()).isBetween(0.85, 1.0);
+    }
+
+    @Test
+    void thresholdRejectsCandidatesBelowIt() {
+        PitchSimilarityIndex index = index(1.0);
+
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR,
+                PROBLEME, SOLUTION, CIBLE, AVANTAGE.replace("réelles", "vérifiées"))).isEmpty();
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR,
+                PROBLEME, SOLUTION, CIBLE, AVANTAGE)).isPresent();
+    }
+
+    @Test
+    void differentTextIsNotAMatch() {
+        PitchSimilarityIndex index = index(0.85);
+
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR,
+                "Les agriculteurs perdent une partie de leur récolte faute de stockage réfrigéré.",
+                "Des chambres froides solaires louées à la journée.",
+                "Coopératives agricoles du Souss.",
+                "Aucun raccordement électrique nécessaire.")).isEmpty();
+    }
+
+    @Test
+    void sameTextOfAnotherTypeIsNotAMatch() {
+        PitchSimilarityIndex index = index(0.85);
+
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.DECK, PROBLEME, SOLUTION, CIBLE, AVANTAGE)).isEmpty();
+    }
+
+    @Test
+    void removedPitchIsNoLongerACandidate() {
+        PitchSimilarityIndex index = index(0.85);
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR, PROBLEME, SOLUTION, CIBLE, AVANTAGE)).isPresent();
+
+        index.remove(existing);
+
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR, PROBLEME, SOLUTION, CIBLE, AVANTAGE)).isEmpty();
+    }
+
+    @Test
+    void putIndexesAPitchCreatedAfterTheStartupWasLoaded() {
+        PitchSimilarityIndex index = index(0.85);
+        String otherProbleme = "Les étudiants ne trouvent pas de stage adapté à leur filière.";
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.VALUE_PROP, otherProbleme, SOLUTION, CIBLE, AVANTAGE)).isEmpty();
+
+        Pitch created = Pitch.builder()
+                .id(UUID.randomUUID())
+                .startupId(STARTUP_ID)
+                .type(PitchType.VALUE_PROP)
+                .probleme(otherProbleme)
+                .solution(SOLUTION)
+                .cible(CIBLE)
+                .avantage(AVANTAGE)
+                .build();
+        when(pitchRepository.findByIdAndStartupId(created.getId(), STARTUP_ID)).thenReturn(Optional.of(created));
+        index.put(created);
+
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.VALUE_PROP, otherProbleme, SOLUTION, CIBLE, AVANTAGE))
+                .map(PitchSimilarityIndex.Match::pitch)
+                .contains(created);
+        verify(pitchRepository, times(1)).findInputsByStartupId(STARTUP_ID);
+    }
+
+    @Test
+    void candidateMissingFromTheDatabaseIsDropped() {
+        when(pitchRepository.findByIdAndStartupId(existing.getId(), STARTUP_ID)).thenReturn(Optional.empty());
+        PitchSimilarityIndex index = index(0.85);
+
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR, PROBLEME, SOLUTION, CIBLE, AVANTAGE)).isEmpty();
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR, PROBLEME, SOLUTION, CIBLE, AVANTAGE)).isEmpty();
+
+        verify(pitchRepository, times(1)).findByIdAndStartupId(existing.getId(), STARTUP_ID);
+    }
+
+    @Test
+    void disabledIndexNeverMatchesNorLoads() {
+        PitchSimilarityIndex index = new PitchSimilarityIndex(pitchRepository, new SimpleMeterRegistry(),
+                false, 0.85, 32, 4, 5, 100, Duration.ofHours(1));
+
+        assertThat(index.findSimilar(STARTUP_ID, PitchType.ELEVATOR, PROBLEME, SOLUTION, CIBLE, AVANTAGE)).isEmpty();
+        verify(pitchRepository, never()).findInputsByStartupId(any());
+    }
+
+    private PitchSimilarityIndex index(double threshold) {
+        return new PitchSimilarityIndex(pitchRepository, new SimpleMeterRegistry(),
+                true, threshold, 32, 4, 5, 100, Duration.ofHours(1));
+    }
+}
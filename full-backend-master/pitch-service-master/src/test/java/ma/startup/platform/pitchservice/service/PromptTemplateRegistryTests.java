@@ -0,0 +1,70 @@
+package ma.startup.platform.pitchservice.service;
+
+import ma.startup.platform.pitchservice.model.DeckSection;
+import ma.startup.platform.pitchservice.model.PitchTemplate;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.repository.PitchTemplateRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PromptTemplateRegistryTests {
+
+    private final PitchTemplateRepository templateRepository = mock(PitchTemplateRepository.class);
+
+    @Test
+    void sectionIsRenderedFromTheSectorDeckTemplate() {
+        PromptTemplateRegistry registry = registry(
+                template("fintech-deck", "FinTech", PitchType.DECK, "[{{startup}}] {{section}} : {{consigne}}"),
+                template("fintech", "FinTech", null, "Pitch {{type}} pour {{startup}}"));
+
+        String prompt = registry.renderSection("fintech", DeckSection.MARCHE, "Estime le marché.",
+                "Atlas", "p", "s", "c", "a");
+
+        assertThat(prompt).isEqualTo("[Atlas] Marché : Estime le marché.");
+    }
+
+    @Test
+    void untypedTemplatesAreNotUsedForSections() {
+        PromptTemplateRegistry registry = registry(
+                template("fintech", "FinTech", null, "Pitch {{type}} pour {{startup}}"));
+
+        String prompt = registry.renderSection("FinTech", DeckSection.EQUIPE, "Présente l'équipe.",
+                "Atlas", "p", "s", "c", "a");
+
+        assertThat(prompt).contains("la section \"Équipe\"", "Startup: Atlas", "Présente l'équipe.");
+        assertThat(registry.render("FinTech", PitchType.ELEVATOR, "Atlas", "p", "s", "c", "a"))
+                .isEqualTo("Pitch ELEVATOR pour Atlas");
+    }
+
+    @Test
+    void genericDeckTemplateAppliesToEverySector() {
+        PromptTemplateRegistry registry = registry(
+                template("deck", null, PitchType.DECK, "{{secteur}} / {{section}}"));
+
+        assertThat(registry.renderSection("EdTech", DeckSection.DEMANDE, "", "Atlas", "p", "s", "c", "a"))
+                .isEqualTo("EdTech / Demande");
+    }
+
+    private PromptTemplateRegistry registry(PitchTemplate... rows) {
+        when(templateRepository.findActiveFingerprint()).thenReturn("v1");
+        when(templateRepository.findByIsActiveTrue()).thenReturn(List.of(rows));
+        PromptTemplateRegistry registry = new PromptTemplateRegistry(templateRepository);
+        registry.refresh();
+        return registry;
+    }
+
+    private static PitchTemplate template(String nom, String secteur, PitchType type, String prompt) {
+        return PitchTemplate.builder()
+                .nom(nom)
+                .secteur(secteur)
+                .type(type)
+                .prompt(prompt)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package ma.startup.platform.pitchservice.service.impl;
+
+import ma.startup.platform.pitchservice.client.StartupServiceClient;
+import ma.startup.platform.pitchservice.exception.AIException;
+import ma.startup.platform.pitchservice.exception.AIRateLimitException;
+import ma.startup.platform.pitchservice.model.Pitch;
+import ma.startup.platform.pitchservice.model.PitchJob;
+import ma.startup.platform.pitchservice.model.PitchJobStatus;
+import ma.startup.platform.pitchservice.model.PitchType;
+import ma.startup.platform.pitchservice.repository.PitchJobRepository;
+import ma.startup.platform.pitchservice.repository.PitchRepository;
+import ma.startup.platform.pitchservice.service.AIResponseCache;
+import ma.startup.platform.pitchservice.service.AIService;
+import ma.startup.platform.pitchservice.service.PitchSimilarityIndex;
+import ma.startup.platform.pitchservice.service.PitchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Issue d'une tentative réservée par le poller : job en 2e tentative sur 3.
+ */
+class PitchJobServiceImplTests {
+
+    private static final int ATTEMPT = 2;
+
+    private final PitchJobRepository pitchJobRepository = mock(PitchJobRepository.class);
+    private final PitchRepository pitchRepository = mock(PitchRepository.class);
+    private final PitchService pitchService = mock(PitchService.class);
+    private final AIService aiService = mock(AIService.class);
+    private final AIResponseCache responseCache = mock(AIResponseCache.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final UUID jobId = UUID.randomUUID();
+    private PitchJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(responseCache.bypassing(anyBoolean(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(pitchJobRepository.findQueuedIds(any())).thenReturn(List.of(jobId));
+        when(pitchJobRepository.claim(eq(jobId), any())).thenReturn(1);
+        when(pitchJobRepository.findById(jobId)).thenReturn(Optional.of(PitchJob.builder()
+                .id(jobId)
+                .startupId(UUID.randomUUID())
+                .type(PitchType.ELEVATOR)
+                .status(PitchJobStatus.RUNNING)
+                .attempts(ATTEMPT)
+                .build()));
+        when(pitchService.createPitch(any(), any())).thenAnswer(invocation -> {
+            Pitch pitch = invocation.getArgument(0);
+            pitch.setId(UUID.randomUUID());
+            return pitch;
+        });
+
+        service = new PitchJobServiceImpl(pitchJobRepository, pitchRepository, pitchService,
+                mock(PitchSimilarityIndex.class), aiService, responseCache, mock(StartupServiceClient.class), transactionManager,
+                1, 10, 3, Duration.ofMinutes(5), Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void governorRefusalRequeuesWithoutConsumingTheAttempt() {
+        when(aiService.generatePitch(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new AIRateLimitException("Capacité IA saturée", Duration.ofSeconds(1)));
+
+        service.poll();
+
+        verify(pitchJobRepository, timeout(2000)).requeue(eq(jobId), eq(ATTEMPT), eq(1), anyString(), any());
+    }
+
+    @Test
+    void providerFailureRequeuesAndKeepsTheAttempt() {
+        when(aiService.generatePitch(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new AIException("Aucun provider IA n'a pu répondre"));
+
+        service.poll();
+
+        verify(pitchJobRepository, timeout(2000)).requeue(eq(jobId), eq(ATTEMPT), eq(0), anyString(), any());
+    }
+
+    @Test
+    void pitchIsRolledBackWhenTheAttemptWasTakenOver() {
+        when(aiService.generatePitch(any(), any(), any(), any(), any(), any())).thenReturn("Pitch généré");
+        when(pitchJobRepository.succeed(eq(jobId), eq(ATTEMPT), any(), any())).thenReturn(0);
+
+        service.poll();
+
+        verify(transactionManager, timeout(2000)).commit(argThat(TransactionStatus::isRollbackOnly));
+    }
+
+    @Test
+    void saveFailureIsHandledAsAFailedAttempt() {
+        when(aiService.generatePitch(any(), any(), any(), any(), any(), any())).thenReturn("Pitch généré");
+        when(pitchJobRepository.succeed(eq(jobId), anyInt(), any(), any()))
+                .thenThrow(new IllegalStateException("connexion perdue"));
+
+        service.poll();
+
+        verify(pitchJobRepository, timeout(2000)).requeue(eq(jobId), eq(ATTEMPT), eq(0), eq("connexion perdue"), any());
+    }
+}